@@ -0,0 +1,123 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.RestaurantApplication;
+import com.example.restaurant.service.MenuSummaryReconciler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database and seeds
+ * it with {@code datasetSize} menu items spread over restaurants of {@link #ITEMS_PER_RESTAURANT}
+ * items each. Every 10th item is out of stock and every 20th is soft-deleted. Names combine a size,
+ * a style and a dish, e.g. "Large Tandoori Paneer Tikka", and are unique within each restaurant.
+ */
+public final class BenchmarkContext {
+
+    public static final int ITEMS_PER_RESTAURANT = 1_000;
+
+    private static final String[] CATEGORIES = {"VEG", "NON_VEG", "DESSERT", "DRINK"};
+    private static final String[] DISHES = {
+        "Paneer Tikka", "Chicken Biryani", "Gulab Jamun", "Mango Shake", "Dal Makhani", "Butter Chicken",
+        "Masala Dosa", "Mango Lassi", "Veg Pulao", "Fish Curry", "Rasmalai", "Cold Coffee", "Chana Masala",
+        "Mutton Rogan Josh", "Kulfi", "Masala Chai", "Aloo Gobi", "Prawn Fry", "Kheer", "Lime Soda",
+        "Palak Paneer", "Egg Curry", "Jalebi", "Strawberry Shake", "Veg Manchurian"};
+    private static final String[] STYLES = {
+        "Classic", "Tandoori", "Spicy", "Homestyle", "Royal", "Street", "Smoky", "Chef Special", "Mini", "Signature"};
+    private static final String[] SIZES = {"Regular", "Large", "Family", "Half"};
+    private static final int INSERT_CHUNK = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int datasetSize) {
+        return start(datasetSize, WebApplicationType.NONE, Map.of());
+    }
+
+    /**
+     * Starts the application with the benchmark defaults overridden by {@code properties}, e.g. an
+     * embedded server on a random port and a thread mode for load tests.
+     */
+    public static ConfigurableApplicationContext start(int datasetSize, WebApplicationType webApplicationType,
+                                                       Map<String, String> properties) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + datasetSize + ";DB_CLOSE_DELAY=-1");
+        settings.put("spring.jpa.show-sql", "false");
+        settings.put("spring.jpa.properties.hibernate.format_sql", "false");
+        settings.put("spring.h2.console.enabled", "false");
+        settings.put("menu.cache.enabled", "false");
+        settings.put("logging.level.root", "WARN");
+        settings.putAll(properties);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestaurantApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(settings.entrySet().stream()
+                    .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                    .toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class), datasetSize);
+        // the seed bypasses the services, so build the menu summaries (and their buckets) from it
+        context.getBean(MenuSummaryReconciler.class).reconcile();
+        return context;
+    }
+
+    public static long[] restaurantIds(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM restaurants ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static long[] activeMenuItemIds(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM menu_items WHERE deleted = FALSE ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int datasetSize) {
+        int restaurantCount = Math.max(1, datasetSize / ITEMS_PER_RESTAURANT);
+        List<Object[]> restaurants = new ArrayList<>(restaurantCount);
+        for (int r = 0; r < restaurantCount; r++) {
+            restaurants.add(new Object[] {"Benchmark Restaurant " + r, "Zone " + (r % 20)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO restaurants (name, location, is_open) VALUES (?, ?, TRUE)", restaurants);
+        jdbcTemplate.update("INSERT INTO menu_revisions (restaurant_id, revision) SELECT id, 0 FROM restaurants");
+        List<Long> restaurantIds = jdbcTemplate.queryForList("SELECT id FROM restaurants ORDER BY id", Long.class);
+
+        List<Object[]> items = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < datasetSize; i++) {
+            items.add(new Object[] {
+                menuItemName(i),
+                50 + (i % 400),
+                CATEGORIES[i % CATEGORIES.length],
+                i % 10 == 0 ? "OUT_OF_STOCK" : "AVAILABLE",
+                restaurantIds.get(Math.min(i / ITEMS_PER_RESTAURANT, restaurantIds.size() - 1)),
+                i % 20 == 0
+            });
+            if (items.size() == INSERT_CHUNK) {
+                insertItems(jdbcTemplate, items);
+                items.clear();
+            }
+        }
+        if (!items.isEmpty()) {
+            insertItems(jdbcTemplate, items);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String menuItemName(int i) {
+        return SIZES[(i / (DISHES.length * STYLES.length)) % SIZES.length] + " "
+                + STYLES[(i / DISHES.length) % STYLES.length] + " "
+                + DISHES[i % DISHES.length];
+    }
+
+    private static void insertItems(JdbcTemplate jdbcTemplate, List<Object[]> items) {
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, price, category, status, restaurant_id, deleted) "
+                + "VALUES (NEXT VALUE FOR menu_items_seq, ?, ?, ?, ?, ?, ?)", items);
+    }
+}
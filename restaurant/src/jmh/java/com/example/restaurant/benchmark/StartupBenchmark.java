@@ -0,0 +1,199 @@
+package com.example.restaurant.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup cost of the packaged application in its two modes, each run in a fresh JVM:
+ * {@code default} is the executable war with the default configuration, and {@code fast-startup}
+ * is the launcher jar from the {@code fast-startup} build with Spring AOT, the CDS archive and the
+ * {@code fast-startup} profile. A run counts from process launch to the first successful health
+ * check (ready) and to the first answered menu listing (first request, after creating a
+ * restaurant), then reads the process RSS. Medians are printed and written to
+ * {@code target/startup-result.json}.
+ *
+ * <pre>
+ * ./mvnw -Pfast-startup,jmh verify -Dbenchmark.main=com.example.restaurant.benchmark.StartupBenchmark \
+ *     -Djmh.args="--runs=5"
+ * </pre>
+ *
+ * RSS comes from {@code /proc} and is reported as -1 where that is not available.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        Path target = Path.of(options.getOrDefault("target", "target"));
+        Path output = Path.of(options.getOrDefault("output", "target/startup-result.json"));
+        Path logs = target.resolve("startup-benchmark");
+        Files.createDirectories(logs);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path startup = target.resolve("startup");
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of(java, "-jar", single(target, ".war").toString()));
+        modes.put("fast-startup", List.of(java,
+            "-XX:SharedArchiveFile=" + startup.resolve("application.jsa"),
+            "-Dspring.aot.enabled=true",
+            "-Dspring.profiles.active=fast-startup",
+            "-jar", single(startup, "-startup.jar").toString()));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<ModeResult> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<RunResult> modeRuns = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                List<String> command = new ArrayList<>(mode.getValue());
+                command.add("--server.port=" + port);
+                RunResult result = measure(client, command, port, logs.resolve(mode.getKey() + "-" + run + ".log"));
+                modeRuns.add(result);
+                System.out.printf("%-13s run=%d ready=%6dms firstRequest=%6dms rss=%5dMB%n",
+                    mode.getKey(), run, result.readyMillis(), result.firstRequestMillis(), result.rssMegabytes());
+            }
+            results.add(new ModeResult(mode.getKey(), modeRuns));
+        }
+
+        System.out.println();
+        System.out.printf("%-13s %12s %18s %10s%n", "mode", "ready (p50)", "first request (p50)", "rss (p50)");
+        for (ModeResult result : results) {
+            System.out.printf("%-13s %10dms %16dms %8dMB%n", result.mode(),
+                result.median(RunResult::readyMillis), result.median(RunResult::firstRequestMillis),
+                result.median(RunResult::rssMegabytes));
+        }
+        writeJson(output, runs, results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static RunResult measure(HttpClient client, List<String> command, int port, Path log) throws Exception {
+        String baseUrl = "http://localhost:" + port;
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        try {
+            long deadline = started + STARTUP_TIMEOUT.toNanos();
+            while (!healthy(client, baseUrl)) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not become ready, see " + log.toAbsolutePath());
+                }
+                Thread.sleep(5);
+            }
+            long ready = System.nanoTime();
+
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/restaurants"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Startup " + started + "\",\"location\":\"Bench\"}"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            String restaurantId = created.body().replaceAll("^\\{\"id\":(\\d+).*$", "$1");
+            HttpResponse<Void> listing = client.send(HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/v1/restaurants/" + restaurantId + "/menu-items")).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+            if (created.statusCode() != 201 || listing.statusCode() != 200) {
+                throw new IllegalStateException("First requests failed (" + created.statusCode() + ", "
+                    + listing.statusCode() + "), see " + log.toAbsolutePath());
+            }
+            long firstRequest = System.nanoTime();
+
+            return new RunResult(TimeUnit.NANOSECONDS.toMillis(ready - started),
+                TimeUnit.NANOSECONDS.toMillis(firstRequest - started), rssMegabytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean healthy(HttpClient client, String baseUrl) throws InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(1)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long rssMegabytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1);
+        }
+    }
+
+    private static Path single(Path directory, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> matches = files.filter(file -> file.getFileName().toString().endsWith(suffix)).toList();
+            if (matches.size() != 1) {
+                throw new IllegalStateException("Expected one *" + suffix + " in " + directory.toAbsolutePath()
+                    + ", found " + matches + "; build with ./mvnw -Pfast-startup package first");
+            }
+            return matches.get(0);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private static void writeJson(Path output, int runs, List<ModeResult> results) throws IOException {
+        String modes = results.stream().map(result -> {
+            String modeRuns = result.runs().stream()
+                .map(run -> String.format("{\"readyMs\":%d,\"firstRequestMs\":%d,\"rssMb\":%d}",
+                    run.readyMillis(), run.firstRequestMillis(), run.rssMegabytes()))
+                .collect(Collectors.joining(","));
+            return String.format("{\"mode\":\"%s\",\"readyMs\":%d,\"firstRequestMs\":%d,\"rssMb\":%d,\"runs\":[%s]}",
+                result.mode(), result.median(RunResult::readyMillis), result.median(RunResult::firstRequestMillis),
+                result.median(RunResult::rssMegabytes), modeRuns);
+        }).collect(Collectors.joining(","));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, String.format("{\"javaVersion\":%d,\"runs\":%d,\"modes\":[%s]}%n",
+            Runtime.version().feature(), runs, modes));
+    }
+
+    private record RunResult(long readyMillis, long firstRequestMillis, long rssMegabytes) {
+    }
+
+    private record ModeResult(String mode, List<RunResult> runs) {
+
+        long median(ToLongFunction<RunResult> metric) {
+            long[] values = runs.stream().mapToLong(metric).sorted().toArray();
+            return values[(values.length - 1) / 2];
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.restaurant.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Closed-loop HTTP load test comparing the platform-thread and virtual-thread request modes
+ * against the same seeded H2 dataset. For each mode it steps through increasing client
+ * concurrency, measures RPS and p99 latency of menu listings, and reports the highest RPS whose
+ * p99 stays within the SLO and whose error rate stays under 1%.
+ *
+ * <pre>
+ * ./mvnw -Pjmh verify -Dbenchmark.main=com.example.restaurant.benchmark.ThreadModeLoadTest \
+ *     -Djmh.args="--dataset=100000 --duration=20 --concurrency=16,64,256,1024 --p99-slo-ms=100"
+ * </pre>
+ *
+ * Virtual threads need a Java 21+ runtime; on older runtimes both modes run on platform threads
+ * and the report says so.
+ */
+public final class ThreadModeLoadTest {
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int datasetSize = Integer.parseInt(options.getOrDefault("dataset", "100000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        int[] concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "16,64,256,1024").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        long p99SloMillis = Long.parseLong(options.getOrDefault("p99-slo-ms", "100"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest-result.json"));
+
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            System.out.println("WARNING: Java " + javaVersion + " has no virtual threads; "
+                + "the virtual mode falls back to platform threads.");
+        }
+
+        List<ModeResult> results = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest-" + mode + "-" + datasetSize + ";DB_CLOSE_DELAY=-1");
+            if (mode.equals("virtual")) {
+                properties.put("spring.profiles.active", "virtual-threads");
+            }
+            try (ConfigurableApplicationContext context =
+                     BenchmarkContext.start(datasetSize, WebApplicationType.SERVLET, properties)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                long[] restaurantIds = BenchmarkContext.restaurantIds(context);
+
+                ModeResult modeResult = new ModeResult(mode, new ArrayList<>());
+                for (int concurrency : concurrencyLevels) {
+                    StepResult step = runStep(baseUrl, restaurantIds, concurrency, duration);
+                    modeResult.steps().add(step);
+                    System.out.printf("%-8s concurrency=%5d rps=%9.1f p50=%7.2fms p99=%7.2fms errors=%d%n",
+                        mode, concurrency, step.rps(), step.p50Millis(), step.p99Millis(), step.errors());
+                }
+                results.add(modeResult);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-8s %16s %14s%n", "mode", "max sustained rps", "p99 at max");
+        for (ModeResult result : results) {
+            StepResult best = result.maxSustained(p99SloMillis);
+            System.out.printf("%-8s %16.1f %12.2fms%n", result.mode(),
+                best != null ? best.rps() : 0.0, best != null ? best.p99Millis() : Double.NaN);
+        }
+        writeJson(output, javaVersion, datasetSize, p99SloMillis, results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static StepResult runStep(String baseUrl, long[] restaurantIds, int concurrency, Duration duration)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencyBuffer> buffers = new ArrayList<>(concurrency);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            LatencyBuffer buffer = new LatencyBuffer();
+            buffers.add(buffer);
+            sendNext(client, baseUrl, restaurantIds, deadline, buffer, completed, errors, done);
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = buffers.stream().flatMapToLong(LatencyBuffer::values).sorted().toArray();
+        return new StepResult(concurrency, completed.get() / elapsedSeconds,
+            percentileMillis(all, 0.50), percentileMillis(all, 0.99), completed.get(), errors.get());
+    }
+
+    /**
+     * One virtual user: sends a request, records its latency and sends the next one from the
+     * completion callback until the deadline, so concurrency does not need one client thread each.
+     */
+    private static void sendNext(HttpClient client, String baseUrl, long[] restaurantIds, long deadline,
+                                 LatencyBuffer buffer, AtomicLong completed, AtomicLong errors,
+                                 CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long restaurantId = restaurantIds[random.nextInt(restaurantIds.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/restaurants/" + restaurantId
+                + "/menu-items?page=" + random.nextInt(5) + "&size=10"))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() != 200) {
+                errors.incrementAndGet();
+            } else {
+                buffer.record(System.nanoTime() - start);
+                completed.incrementAndGet();
+            }
+            sendNext(client, baseUrl, restaurantIds, deadline, buffer, completed, errors, done);
+        });
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private static void writeJson(Path output, int javaVersion, int datasetSize, long p99SloMillis,
+                                  List<ModeResult> results) throws IOException {
+        String modes = results.stream().map(result -> {
+            StepResult best = result.maxSustained(p99SloMillis);
+            String steps = result.steps().stream()
+                .map(step -> String.format("{\"concurrency\":%d,\"rps\":%.1f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"errors\":%d}",
+                    step.concurrency(), step.rps(), step.p50Millis(), step.p99Millis(), step.errors()))
+                .collect(Collectors.joining(","));
+            return String.format("{\"mode\":\"%s\",\"maxSustainedRps\":%.1f,\"steps\":[%s]}",
+                result.mode(), best != null ? best.rps() : 0.0, steps);
+        }).collect(Collectors.joining(","));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, String.format("{\"javaVersion\":%d,\"datasetSize\":%d,\"p99SloMs\":%d,\"modes\":[%s]}%n",
+            javaVersion, datasetSize, p99SloMillis, modes));
+    }
+
+    private static final class LatencyBuffer {
+
+        private long[] values = new long[1 << 12];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized LongStream values() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+
+    private record StepResult(int concurrency, double rps, double p50Millis, double p99Millis,
+                              long completed, long errors) {
+
+        boolean sustained(long p99SloMillis) {
+            return p99Millis <= p99SloMillis && errors * 100 < completed + errors;
+        }
+    }
+
+    private record ModeResult(String mode, List<StepResult> steps) {
+
+        StepResult maxSustained(long p99SloMillis) {
+            return steps.stream()
+                .filter(step -> step.sustained(p99SloMillis))
+                .max(Comparator.comparingDouble(StepResult::rps))
+                .orElse(null);
+        }
+    }
+}
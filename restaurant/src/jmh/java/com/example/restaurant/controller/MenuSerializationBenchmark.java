@@ -0,0 +1,84 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.service.MenuItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes one menu page with the application's own Jackson mappers: the default {@code Page}
+ * of {@code MenuItemResponse} as JSON against the compact representation as JSON and as CBOR.
+ * The payload size of each combination is printed during setup; the score is the time to encode
+ * the page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MenuSerializationBenchmark {
+
+    public enum Representation { PAGE_JSON, COMPACT_JSON, COMPACT_CBOR }
+
+    @Param({"10", "100", "500"})
+    public int pageSize;
+
+    @Param
+    public Representation representation;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper mapper;
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(BenchmarkContext.ITEMS_PER_RESTAURANT);
+        MenuItemService menuItemService = context.getBean(MenuItemService.class);
+        long restaurantId = BenchmarkContext.restaurantIds(context)[0];
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        switch (representation) {
+            case PAGE_JSON -> {
+                mapper = context.getBean(JsonMapper.class);
+                body = menuItemService.getMenuItems(restaurantId, null, null, pageRequest);
+            }
+            case COMPACT_JSON -> {
+                mapper = context.getBean(JsonMapper.class);
+                body = menuItemService.getCompactMenuItems(restaurantId, null, null, pageRequest);
+            }
+            case COMPACT_CBOR -> {
+                mapper = context.getBean(CBORMapper.class);
+                body = menuItemService.getCompactMenuItems(restaurantId, null, null, pageRequest);
+            }
+        }
+        System.out.printf("%n%s pageSize=%d bytes=%d%n", representation, pageSize, serialize().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(body);
+    }
+}
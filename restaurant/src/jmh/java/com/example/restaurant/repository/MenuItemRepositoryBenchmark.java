@@ -0,0 +1,84 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset versus keyset paging of {@link MenuItemRepository} at the last page of a restaurant's menu.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MenuItemRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private MenuItemRepository menuItemRepository;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private long[] restaurantIds;
+    private long[] lastPageCursors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        menuItemRepository = context.getBean(MenuItemRepository.class);
+        readOnlyTransactionTemplate = context.getBean("readOnlyTransactionTemplate", TransactionTemplate.class);
+        restaurantIds = BenchmarkContext.restaurantIds(context);
+
+        long[] menuItemIds = BenchmarkContext.activeMenuItemIds(context);
+        int activePerRestaurant = menuItemIds.length / restaurantIds.length;
+        lastPageCursors = new long[restaurantIds.length];
+        for (int r = 0; r < restaurantIds.length; r++) {
+            lastPageCursors[r] = menuItemIds[(r + 1) * activePerRestaurant - PAGE_SIZE - 1];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MenuItemResponse> offsetLastPage() {
+        long restaurantId = restaurantIds[ThreadLocalRandom.current().nextInt(restaurantIds.length)];
+        int lastPage = (BenchmarkContext.ITEMS_PER_RESTAURANT - BenchmarkContext.ITEMS_PER_RESTAURANT / 20) / PAGE_SIZE - 1;
+        return readOnlyTransactionTemplate.execute(tx ->
+            menuItemRepository.findByRestaurantId(restaurantId, PageRequest.of(lastPage, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<MenuItemResponse> keysetLastPage() {
+        int r = ThreadLocalRandom.current().nextInt(restaurantIds.length);
+        return readOnlyTransactionTemplate.execute(tx ->
+            menuItemRepository.findByRestaurantIdAfter(restaurantIds[r], lastPageCursors[r], Limit.of(PAGE_SIZE + 1)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.restaurant.search;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.dto.MenuItemSearchResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MenuItemSearchIndex#search} across all restaurants and within one, for exact, multi-token,
+ * prefix and misspelled queries. The index is rebuilt from the seeded database before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MenuItemSearchBenchmark {
+
+    public enum Query {
+        EXACT("paneer"), MULTI_TOKEN("large mango shake"), PREFIX("chick"), TYPO("biryni");
+
+        private final String text;
+
+        Query(String text) {
+            this.text = text;
+        }
+    }
+
+    @Param({"1000", "100000", "1000000"})
+    public int datasetSize;
+
+    @Param
+    public Query query;
+
+    private ConfigurableApplicationContext context;
+    private MenuItemSearchIndex index;
+    private long[] restaurantIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        index = context.getBean(MenuItemSearchIndex.class);
+        index.rebuild();
+        restaurantIds = BenchmarkContext.restaurantIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MenuItemSearchResponse searchAllRestaurants() {
+        return index.search(query.text, null, null, null, 20);
+    }
+
+    @Benchmark
+    public MenuItemSearchResponse searchOneRestaurant() {
+        long restaurantId = restaurantIds[ThreadLocalRandom.current().nextInt(restaurantIds.length)];
+        return index.search(query.text, restaurantId, null, null, 20);
+    }
+}
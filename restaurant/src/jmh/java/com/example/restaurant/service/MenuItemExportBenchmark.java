@@ -0,0 +1,61 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.enums.ExportFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full export of every live menu item to a discarding stream, in a heap far smaller than the other
+ * benchmarks (the in-memory database lives there too). Run with {@code -prof gc} to check
+ * that allocation per row, not retained heap, is what grows with the dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MenuItemExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int datasetSize;
+
+    @Param
+    public ExportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private MenuItemExportService menuItemExportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        menuItemExportService = context.getBean(MenuItemExportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long exportAll() throws IOException {
+        return menuItemExportService.export(null, format, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MenuItemService#getMenuItems} for every filter combination, with the menu cache disabled
+ * so each call reaches the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MenuItemReadBenchmark {
+
+    public enum Filter { NONE, CATEGORY, STATUS, CATEGORY_AND_STATUS }
+
+    @Param({"1000", "100000", "1000000"})
+    public int datasetSize;
+
+    @Param
+    public Filter filter;
+
+    private ConfigurableApplicationContext context;
+    private MenuItemService menuItemService;
+    private long[] restaurantIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        menuItemService = context.getBean(MenuItemService.class);
+        restaurantIds = BenchmarkContext.restaurantIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MenuItemResponse> getMenuItems() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long restaurantId = restaurantIds[random.nextInt(restaurantIds.length)];
+        Category category = filter == Filter.CATEGORY || filter == Filter.CATEGORY_AND_STATUS ? Category.VEG : null;
+        Status status = filter == Filter.STATUS || filter == Filter.CATEGORY_AND_STATUS ? Status.AVAILABLE : null;
+        return menuItemService.getMenuItems(restaurantId, category, status, PageRequest.of(random.nextInt(5), 10));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.entity.MenuItem;
+import com.example.restaurant.model.entity.Restaurant;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write paths of {@link MenuItemService} plus the entity-to-DTO mapping used by every read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MenuItemServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int datasetSize;
+
+    private final AtomicLong nameSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private MenuItemService menuItemService;
+    private long[] restaurantIds;
+    private long[] menuItemIds;
+    private MenuItem detachedMenuItem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(datasetSize);
+        menuItemService = context.getBean(MenuItemService.class);
+        restaurantIds = BenchmarkContext.restaurantIds(context);
+        menuItemIds = BenchmarkContext.activeMenuItemIds(context);
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setName("Benchmark Restaurant");
+        restaurant.setLocation("Zone 1");
+        detachedMenuItem = new MenuItem();
+        detachedMenuItem.setId(42L);
+        detachedMenuItem.setName("Paneer Tikka");
+        detachedMenuItem.setPrice(249.0);
+        detachedMenuItem.setCategory(Category.VEG);
+        detachedMenuItem.setStatus(Status.AVAILABLE);
+        detachedMenuItem.setRestaurant(restaurant);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MenuItemResponse addMenuItem() {
+        long restaurantId = restaurantIds[ThreadLocalRandom.current().nextInt(restaurantIds.length)];
+        CreateMenuItemRequest request = new CreateMenuItemRequest(
+            "Benchmark Item " + nameSequence.incrementAndGet(), 199.0, Category.DESSERT);
+        return menuItemService.addMenuItem(restaurantId, request);
+    }
+
+    @Benchmark
+    public MenuItemResponse updateMenuItemStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long menuItemId = menuItemIds[random.nextInt(menuItemIds.length)];
+        Status status = random.nextBoolean() ? Status.AVAILABLE : Status.OUT_OF_STOCK;
+        return menuItemService.updateMenuItemStatus(menuItemId, new UpdateMenuItemStatusRequest(status));
+    }
+
+    @Benchmark
+    public MenuItemResponse mapToResponse() {
+        return menuItemService.mapToResponse(detachedMenuItem);
+    }
+}
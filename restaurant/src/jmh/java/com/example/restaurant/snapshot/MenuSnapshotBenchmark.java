@@ -0,0 +1,123 @@
+package com.example.restaurant.snapshot;
+
+import com.example.restaurant.benchmark.BenchmarkContext;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.entity.MenuItem;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A filtered menu page from the columnar snapshot against the same page from the offset query.
+ * Setup also prints the retained heap of the 100k-item dataset per 100k live items in three
+ * shapes: columnar snapshots with their string table, detached {@link MenuItem} entities with
+ * their restaurants, and {@link MenuItemResponse} DTOs as the listing cache holds them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.attach.allowAttachSelf=true"})
+public class MenuSnapshotBenchmark {
+
+    public enum Source { SNAPSHOT, QUERY }
+
+    private static final int DATASET_SIZE = 100_000;
+    private static final PageRequest PAGE = PageRequest.of(1, 20);
+
+    @Param
+    public Source source;
+
+    private ConfigurableApplicationContext context;
+    private MenuSnapshots menuSnapshots;
+    private MenuItemRepository menuItemRepository;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private long[] restaurantIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(DATASET_SIZE, WebApplicationType.NONE,
+                Map.of("menu.snapshot.enabled", "true"));
+        menuSnapshots = context.getBean(MenuSnapshots.class);
+        menuSnapshots.rebuild();
+        menuItemRepository = context.getBean(MenuItemRepository.class);
+        readOnlyTransactionTemplate = context.getBean("readOnlyTransactionTemplate", TransactionTemplate.class);
+        restaurantIds = BenchmarkContext.restaurantIds(context);
+        printFootprint();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MenuItemResponse> vegAvailablePage() {
+        long restaurantId = restaurantIds[ThreadLocalRandom.current().nextInt(restaurantIds.length)];
+        return switch (source) {
+            case SNAPSHOT -> menuSnapshots.findPage(restaurantId, Category.VEG, Status.AVAILABLE, PAGE).orElseThrow();
+            case QUERY -> readOnlyTransactionTemplate.execute(tx -> menuItemRepository
+                    .findByRestaurantIdAndCategoryAndStatus(restaurantId, Category.VEG, Status.AVAILABLE, PAGE));
+        };
+    }
+
+    private void printFootprint() {
+        List<MenuItemResponse> responses = menuItemRepository.findAllAfter(0L, Limit.of(DATASET_SIZE));
+        Map<Long, List<MenuItemResponse>> byRestaurant = new LinkedHashMap<>();
+        responses.forEach(item -> byRestaurant.computeIfAbsent(item.getRestaurantId(), id -> new ArrayList<>()).add(item));
+        StringTable names = new StringTable();
+        List<MenuSnapshot> snapshots = new ArrayList<>();
+        for (Entry<Long, List<MenuItemResponse>> menu : byRestaurant.entrySet()) {
+            snapshots.add(MenuSnapshot.of(0, menu.getKey(), menu.getValue(), names));
+        }
+        List<MenuItem> entities = readOnlyTransactionTemplate.execute(tx -> {
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            List<MenuItem> loaded = entityManager.createQuery(
+                    "SELECT m FROM MenuItem m JOIN FETCH m.restaurant WHERE m.deleted = false", MenuItem.class)
+                .getResultList();
+            entityManager.clear();
+            return loaded;
+        });
+
+        int items = responses.size();
+        System.out.printf("%nlive items=%d, distinct names=%d%n", items, names.size());
+        report("columnar snapshots", GraphLayout.parseInstance(snapshots, names).totalSize(), items);
+        report("MenuItem entities", GraphLayout.parseInstance(entities).totalSize(), items);
+        report("MenuItemResponse DTOs", GraphLayout.parseInstance(responses).totalSize(), items);
+    }
+
+    private static void report(String shape, long bytes, int items) {
+        System.out.printf("%-22s %,12d bytes per 100k items (%d bytes per item)%n",
+                shape, bytes * 100_000 / items, bytes / items);
+    }
+}
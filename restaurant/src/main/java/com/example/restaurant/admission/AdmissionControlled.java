@@ -0,0 +1,22 @@
+package com.example.restaurant.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller's handlers behind {@link AdmissionLimiter}. Requests whose path names a
+ * restaurant in {@link #restaurantIdVariable} also count against that restaurant's share, and so do
+ * requests naming one of its menu items in {@link #menuItemIdVariable}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControlled {
+
+    String restaurantIdVariable() default "restaurantId";
+
+    String menuItemIdVariable() default "menuItemId";
+}
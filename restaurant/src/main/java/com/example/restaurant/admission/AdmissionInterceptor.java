@@ -0,0 +1,87 @@
+package com.example.restaurant.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Takes an {@link AdmissionLimiter} permit before handlers of {@link AdmissionControlled}
+ * controllers run and gives it back when the request completes. Anything but GET, HEAD and
+ * OPTIONS counts as a write. A route that names a menu item rather than a restaurant is charged
+ * to the item's restaurant, looked up through {@code menuItemRestaurant}. Rejections are thrown
+ * from here and rendered by the exception handler like any other error.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private static final Set<String> SAFE_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final AdmissionLimiter limiter;
+    private final Function<Long, Long> menuItemRestaurant;
+
+    /**
+     * @param menuItemRestaurant owning restaurant of a menu item id, or null for an unknown item,
+     *                           which then only counts against the global limit
+     */
+    public AdmissionInterceptor(AdmissionLimiter limiter, Function<Long, Long> menuItemRestaurant) {
+        this.limiter = limiter;
+        this.menuItemRestaurant = menuItemRestaurant;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        AdmissionControlled controlled = method.getBeanType().getAnnotation(AdmissionControlled.class);
+        if (controlled == null) {
+            return true;
+        }
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter.acquire(restaurantId(request, controlled), write));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    private Long restaurantId(HttpServletRequest request, AdmissionControlled controlled) {
+        Long restaurantId = pathVariable(request, controlled.restaurantIdVariable());
+        if (restaurantId != null) {
+            return restaurantId;
+        }
+        Long menuItemId = pathVariable(request, controlled.menuItemIdVariable());
+        return menuItemId == null ? null : menuItemRestaurant.apply(menuItemId);
+    }
+
+    private static Long pathVariable(HttpServletRequest request, String variable) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables == null ? null : variables.get(variable);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // the handler's own argument conversion reports it
+            return null;
+        }
+    }
+}
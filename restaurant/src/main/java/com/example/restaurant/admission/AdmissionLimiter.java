@@ -0,0 +1,255 @@
+package com.example.restaurant.admission;
+
+import com.example.restaurant.exception.RestaurantOverloadedException;
+import com.example.restaurant.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Caps the requests in flight, globally at a {@link GradientLimit} and per restaurant at a share
+ * of it, so one restaurant's burst cannot take every worker thread and the database pool with it.
+ *
+ * <ul>
+ *   <li>A restaurant over its share is turned away at once with
+ *       {@link RestaurantOverloadedException}: waiting would only hold a thread for its backlog.
+ *       Its reads only use {@code readShare} of that share, so browsing cannot lock the
+ *       restaurant's own kitchen writes out.</li>
+ *   <li>Over the global limit a request waits in a short bounded queue. Writes are woken first,
+ *       and reads only use {@code readShare} of the limit and never pass a waiting write, so
+ *       status changes get through while menu browsing is being shed.</li>
+ *   <li>When the queue is full or the wait times out the request fails with
+ *       {@link ServiceOverloadedException}.</li>
+ * </ul>
+ *
+ * Every released permit reports its latency to the limit.
+ */
+public class AdmissionLimiter implements MeterBinder {
+
+    private static final int RESTAURANT = 0;
+    private static final int GLOBAL = 1;
+    private static final int READ = 0;
+    private static final int WRITE = 1;
+    private static final String[] SCOPES = {"restaurant", "global"};
+    private static final String[] KINDS = {"read", "write"};
+
+    private final GradientLimit limit;
+    private final double restaurantShare;
+    private final double readShare;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final Duration retryAfter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writerTurn = lock.newCondition();
+    private final Condition readerTurn = lock.newCondition();
+    private final Map<Long, Integer> inFlightByRestaurant = new HashMap<>();
+    private int inFlight;
+    private int waitingWriters;
+    private int waitingReaders;
+
+    private final AtomicLong[][] shed = {
+        {new AtomicLong(), new AtomicLong()},
+        {new AtomicLong(), new AtomicLong()}
+    };
+    private final AtomicLong[] queued = {new AtomicLong(), new AtomicLong()};
+
+    public AdmissionLimiter(GradientLimit limit, double restaurantShare, double readShare, int queueSize,
+                            Duration queueTimeout, Duration retryAfter) {
+        this.limit = limit;
+        this.restaurantShare = restaurantShare;
+        this.readShare = readShare;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Admits a request, waiting up to the queue timeout for a global slot. The returned permit
+     * must be released exactly once. {@code restaurantId} may be null for requests that do not
+     * name a restaurant; they only count against the global limit.
+     */
+    public Permit acquire(Long restaurantId, boolean write) {
+        lock.lock();
+        try {
+            checkRestaurant(restaurantId, write);
+            if (!hasRoom(write)) {
+                await(write);
+                try {
+                    // the restaurant's other requests may have been admitted while this one waited
+                    checkRestaurant(restaurantId, write);
+                } catch (RestaurantOverloadedException e) {
+                    signalNext();
+                    throw e;
+                }
+            }
+            inFlight++;
+            if (restaurantId != null) {
+                inFlightByRestaurant.merge(restaurantId, 1, Integer::sum);
+            }
+            return new Permit(restaurantId, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int kind = READ; kind <= WRITE; kind++) {
+            for (int scope = RESTAURANT; scope <= GLOBAL; scope++) {
+                FunctionCounter.builder("menu.admission.shed", shed[scope][kind], AtomicLong::get)
+                        .description("Requests rejected by admission control")
+                        .tag("scope", SCOPES[scope])
+                        .tag("kind", KINDS[kind])
+                        .register(registry);
+            }
+            FunctionCounter.builder("menu.admission.queued", queued[kind], AtomicLong::get)
+                    .description("Requests that waited for a slot over the global limit")
+                    .tag("kind", KINDS[kind])
+                    .register(registry);
+        }
+        Gauge.builder("menu.admission.limit", this, AdmissionLimiter::getLimit)
+                .description("Current global concurrency limit")
+                .register(registry);
+        Gauge.builder("menu.admission.in.flight", this, limiter -> limiter.locked(() -> limiter.inFlight))
+                .description("Admitted requests still running")
+                .register(registry);
+        Gauge.builder("menu.admission.waiting", this, limiter -> limiter.locked(() -> limiter.waitingWriters + limiter.waitingReaders))
+                .description("Requests waiting for a slot")
+                .register(registry);
+    }
+
+    private void checkRestaurant(Long restaurantId, boolean write) {
+        if (restaurantId == null) {
+            return;
+        }
+        int restaurantLimit = Math.max(1, (int) Math.ceil(limit.get() * restaurantShare));
+        if (!write) {
+            // as globally, reads leave the rest of the restaurant's share to its writes
+            restaurantLimit = Math.max(1, (int) (restaurantLimit * readShare));
+        }
+        if (inFlightByRestaurant.getOrDefault(restaurantId, 0) >= restaurantLimit) {
+            shed[RESTAURANT][write ? WRITE : READ].incrementAndGet();
+            throw new RestaurantOverloadedException(
+                    "Too many concurrent requests for restaurant " + restaurantId, retryAfter);
+        }
+    }
+
+    private boolean hasRoom(boolean write) {
+        int current = limit.get();
+        if (write) {
+            return inFlight < current;
+        }
+        return waitingWriters == 0 && inFlight < Math.max(1, (int) (current * readShare));
+    }
+
+    private void await(boolean write) {
+        if (waitingWriters + waitingReaders >= queueSize) {
+            throw overloaded(write);
+        }
+        queued[write ? WRITE : READ].incrementAndGet();
+        Condition turn = write ? writerTurn : readerTurn;
+        long remaining = queueTimeoutNanos;
+        if (write) {
+            waitingWriters++;
+        } else {
+            waitingReaders++;
+        }
+        try {
+            while (!hasRoom(write)) {
+                if (remaining <= 0) {
+                    throw overloaded(write);
+                }
+                remaining = turn.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded(write);
+        } finally {
+            if (write) {
+                waitingWriters--;
+            } else {
+                waitingReaders--;
+            }
+            // a writer giving up may be what kept readers out
+            if (write && waitingWriters == 0 && waitingReaders > 0) {
+                readerTurn.signal();
+            }
+        }
+    }
+
+    private ServiceOverloadedException overloaded(boolean write) {
+        shed[GLOBAL][write ? WRITE : READ].incrementAndGet();
+        return new ServiceOverloadedException("Service is at its concurrency limit, try again later", retryAfter);
+    }
+
+    private void release(Permit permit) {
+        long latency = System.nanoTime() - permit.startedAt;
+        lock.lock();
+        try {
+            limit.onSample(latency, inFlight);
+            inFlight--;
+            if (permit.restaurantId != null) {
+                inFlightByRestaurant.computeIfPresent(permit.restaurantId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNext() {
+        if (waitingWriters > 0) {
+            writerTurn.signal();
+        } else if (waitingReaders > 0) {
+            readerTurn.signal();
+        }
+    }
+
+    private int locked(IntSupplier read) {
+        lock.lock();
+        try {
+            return read.getAsInt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A slot held by an admitted request. */
+    public final class Permit {
+
+        private final Long restaurantId;
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(Long restaurantId, long startedAt) {
+            this.restaurantId = restaurantId;
+            this.startedAt = startedAt;
+        }
+
+        public synchronized void release() {
+            if (!released) {
+                released = true;
+                AdmissionLimiter.this.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.restaurant.admission;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits: a long-term moving average of request latency is the baseline, and each
+ * sample moves the limit by {@code baseline / latency} (clamped to [0.5, 1]) plus a headroom of
+ * {@code sqrt(limit)}. While latency stays within {@value #TOLERANCE} times the baseline the
+ * limit grows; once requests start queueing on the database or the CPU it shrinks. Samples taken
+ * while less than half the limit is in use say nothing about capacity and only feed the baseline.
+ * Not thread-safe; {@link AdmissionLimiter} calls it under its lock.
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final boolean adaptive;
+    private double limit;
+    private double baselineNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, boolean adaptive) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.adaptive = adaptive;
+        this.limit = initialLimit;
+    }
+
+    public int get() {
+        return (int) limit;
+    }
+
+    void onSample(long latencyNanos, int inFlight) {
+        if (!adaptive || latencyNanos <= 0) {
+            return;
+        }
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_ALPHA;
+            if (baselineNanos / latencyNanos > 2) {
+                // latency dropped for good, e.g. after a slow warm-up: let the baseline follow faster
+                baselineNanos *= 0.95;
+            }
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / latencyNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.restaurant.cache;
+
+import com.example.restaurant.model.dto.HibernateCacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snapshot of Hibernate's second-level, natural-id and query cache counters. They are cumulative
+ * since startup and only move while {@code hibernate.generate_statistics} is on; the same figures
+ * are exported to Prometheus by the Hibernate Micrometer binder.
+ */
+@Component
+public class HibernateCacheStats {
+
+    private final Statistics statistics;
+
+    public HibernateCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public HibernateCacheStatsResponse stats() {
+        List<HibernateCacheStatsResponse.Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> region(name, statistics.getCacheRegionStatistics(name)))
+                .toList();
+        return HibernateCacheStatsResponse.builder()
+                .secondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount())
+                .secondLevelCachePutCount(statistics.getSecondLevelCachePutCount())
+                .naturalIdCacheHitCount(statistics.getNaturalIdCacheHitCount())
+                .naturalIdCacheMissCount(statistics.getNaturalIdCacheMissCount())
+                .naturalIdCachePutCount(statistics.getNaturalIdCachePutCount())
+                .queryCacheHitCount(statistics.getQueryCacheHitCount())
+                .queryCacheMissCount(statistics.getQueryCacheMissCount())
+                .queryCachePutCount(statistics.getQueryCachePutCount())
+                .queryExecutionCount(statistics.getQueryExecutionCount())
+                .entityLoadCount(statistics.getEntityLoadCount())
+                .regions(regions)
+                .build();
+    }
+
+    private static HibernateCacheStatsResponse.Region region(String name, CacheRegionStatistics region) {
+        long hits = region != null ? region.getHitCount() : 0;
+        long misses = region != null ? region.getMissCount() : 0;
+        return HibernateCacheStatsResponse.Region.builder()
+                .name(name)
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(region != null ? region.getPutCount() : 0)
+                .hitRate(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                .build();
+    }
+}
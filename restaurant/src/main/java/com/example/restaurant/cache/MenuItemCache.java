@@ -0,0 +1,138 @@
+package com.example.restaurant.cache;
+
+import com.example.restaurant.datasource.ReadYourWrites;
+import com.example.restaurant.model.dto.CacheStatsResponse;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of materialized menu pages, keyed by restaurant and listing query.
+ * Writers evict a single restaurant's entries; a per-restaurant generation counter keeps a load
+ * that raced with a write from being stored. With read replicas configured only pages read on the
+ * primary are stored: an unpinned load may come from a replica still behind the write that just
+ * evicted the restaurant, and caching it would outlive the replica's lag by the whole TTL.
+ */
+@Component
+public class MenuItemCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final boolean replicated;
+    private final Cache<Key, Page<MenuItemResponse>> cache;
+    private final ConcurrentMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public MenuItemCache(
+            @Value("${menu.cache.enabled:true}") boolean enabled,
+            @Value("${menu.cache.maximum-size:10000}") long maximumSize,
+            @Value("${menu.cache.ttl:60s}") Duration ttl,
+            @Value("${menu.datasource.replicas[0].jdbc-url:}") String replicaUrl) {
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.replicated = StringUtils.hasText(replicaUrl);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Page<MenuItemResponse> get(Key key, Supplier<Page<MenuItemResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Page<MenuItemResponse> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        AtomicLong generation = generationCounter(key.restaurantId());
+        long before = generation.get();
+        Page<MenuItemResponse> loaded = loader.get();
+        if (generation.get() == before && (!replicated || ReadYourWrites.isPinned())) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops every cached page of the given restaurant, now and again once the surrounding
+     * transaction commits so readers cannot re-populate the cache with pre-commit data.
+     */
+    public void evictRestaurant(Long restaurantId) {
+        evictNow(restaurantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(restaurantId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Advances every time the restaurant's pages are evicted, including while the cache is
+     * disabled, so callers can tell reads started before a write from reads started after it.
+     */
+    public long generation(Long restaurantId) {
+        return generationCounter(restaurantId).get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "menuItems");
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .enabled(enabled)
+                .size(cache.estimatedSize())
+                .maximumSize(maximumSize)
+                .ttlSeconds(ttl.toSeconds())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    private void evictNow(Long restaurantId) {
+        generationCounter(restaurantId).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.restaurantId().equals(restaurantId));
+    }
+
+    private AtomicLong generationCounter(Long restaurantId) {
+        return generations.computeIfAbsent(restaurantId, id -> new AtomicLong());
+    }
+
+    public record Key(Long restaurantId, Category category, Status status, int page, int size, Sort sort) {
+
+        public static Key of(Long restaurantId, Category category, Status status, Pageable pageable) {
+            return new Key(restaurantId, category, status,
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        }
+    }
+}
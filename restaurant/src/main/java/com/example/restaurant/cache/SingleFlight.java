@@ -0,0 +1,89 @@
+package com.example.restaurant.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with an equal key into one execution: the first caller runs the
+ * loader, callers that arrive while it is in flight wait for and share its result or exception.
+ * Nothing is kept once the flight lands, so keys must carry whatever makes a later call need
+ * fresh data, such as a cache generation.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final boolean enabled;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(String name, boolean enabled) {
+        this.name = name;
+        this.enabled = enabled;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            executed.incrementAndGet();
+            return loader.get();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.incrementAndGet();
+            return await(leader);
+        }
+        executed.incrementAndGet();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("menu.reads.coalescing", executed, AtomicLong::get)
+                .description("Reads that ran their own query versus shared one already in flight")
+                .tag("flight", name)
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("menu.reads.coalescing", coalesced, AtomicLong::get)
+                .description("Reads that ran their own query versus shared one already in flight")
+                .tag("flight", name)
+                .tag("outcome", "coalesced")
+                .register(registry);
+        Gauge.builder("menu.reads.in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct reads currently in flight")
+                .tag("flight", name)
+                .register(registry);
+    }
+
+    private static <V> V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
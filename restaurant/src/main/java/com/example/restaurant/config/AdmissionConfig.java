@@ -0,0 +1,78 @@
+package com.example.restaurant.config;
+
+import com.example.restaurant.admission.AdmissionInterceptor;
+import com.example.restaurant.admission.AdmissionLimiter;
+import com.example.restaurant.admission.GradientLimit;
+import com.example.restaurant.repository.MenuItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Admission control for the menu and restaurant APIs, on unless {@code menu.admission.enabled}
+ * is false. The global limit starts at {@code initial-limit} and adapts to latency between
+ * {@code min-limit} and {@code max-limit} unless {@code adaptive} is false. The owners of menu
+ * items named by item-scoped routes are cached, up to {@code menu-item-owners} of them, since an
+ * item never changes restaurant.
+ */
+@Configuration
+@ConditionalOnProperty(name = "menu.admission.enabled", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    @Value("${menu.admission.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${menu.admission.min-limit:4}")
+    private int minLimit;
+
+    @Value("${menu.admission.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${menu.admission.adaptive:true}")
+    private boolean adaptive;
+
+    @Value("${menu.admission.restaurant-share:0.5}")
+    private double restaurantShare;
+
+    @Value("${menu.admission.read-share:0.9}")
+    private double readShare;
+
+    @Value("${menu.admission.queue-size:50}")
+    private int queueSize;
+
+    @Value("${menu.admission.queue-timeout:50ms}")
+    private Duration queueTimeout;
+
+    @Value("${menu.admission.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${menu.admission.menu-item-owners:10000}")
+    private long menuItemOwners;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Bean
+    public AdmissionLimiter admissionLimiter() {
+        return new AdmissionLimiter(new GradientLimit(initialLimit, minLimit, maxLimit, adaptive),
+                restaurantShare, readShare, queueSize, queueTimeout, retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        Cache<Long, Long> owners = Caffeine.newBuilder().maximumSize(menuItemOwners).build();
+        Function<Long, Long> menuItemRestaurant = menuItemId -> owners.get(menuItemId,
+                id -> menuItemRepository.findRestaurantIdById(id).orElse(null));
+        registry.addInterceptor(new AdmissionInterceptor(admissionLimiter(), menuItemRestaurant))
+                .addPathPatterns("/api/**");
+    }
+}
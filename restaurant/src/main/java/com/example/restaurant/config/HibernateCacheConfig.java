@@ -0,0 +1,40 @@
+package com.example.restaurant.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Gives each application context its own JCache manager for Hibernate's cache regions, configured
+ * from {@code hibernate-cache.conf}. The caching provider otherwise hands every context in the JVM
+ * the same manager, so contexts on different databases would read each other's cached rows.
+ */
+@Configuration
+public class HibernateCacheConfig implements HibernatePropertiesCustomizer, DisposableBean {
+
+    private final CaffeineCachingProvider cachingProvider = new CaffeineCachingProvider();
+    private final CacheManager cacheManager;
+
+    public HibernateCacheConfig(@Value("${spring.jpa.properties.hibernate.javax.cache.uri}") String uri)
+            throws IOException {
+        this.cacheManager = cachingProvider.getCacheManager(
+                new ClassPathResource(uri).getURI(), cachingProvider.getDefaultClassLoader());
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.javax.cache.cache_manager", cacheManager);
+    }
+
+    @Override
+    public void destroy() {
+        cachingProvider.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.restaurant.config;
+
+import com.example.restaurant.datasource.H2ReplicaCopier;
+import com.example.restaurant.datasource.ReadReplicaRoutingDataSource;
+import com.example.restaurant.datasource.ReadYourWrites;
+import com.example.restaurant.datasource.ReadYourWritesInterceptor;
+import com.example.restaurant.datasource.ReadYourWritesJpaDialect;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-replica routing, active once {@code menu.datasource.replicas[0].jdbc-url} is set. The
+ * primary keeps its {@code spring.datasource.*} settings; each replica is a Hikari pool bound
+ * from {@code menu.datasource.replicas[n].*}. Without replicas Spring Boot's single data source
+ * is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty("menu.datasource.replicas[0].jdbc-url")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    @Value("${menu.datasource.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean
+    public ReadReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (!StringUtils.hasText(primary.getPoolName())) {
+            primary.setPoolName("primary");
+        }
+        List<HikariDataSource> replicas = binder
+                .bind("menu.datasource.replicas", Bindable.listOf(HikariDataSource.class))
+                .get();
+        for (int i = 0; i < replicas.size(); i++) {
+            if (!StringUtils.hasText(replicas.get(i).getPoolName())) {
+                replicas.get(i).setPoolName("replica-" + i);
+            }
+        }
+        return new ReadReplicaRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * Local stand-in for replication, for replicas that are separate in-memory H2 databases.
+     */
+    @Bean
+    @ConditionalOnProperty("menu.datasource.h2-replication-interval")
+    public H2ReplicaCopier h2ReplicaCopier(
+            ReadReplicaRoutingDataSource dataSource,
+            @Value("${menu.datasource.h2-replication-interval}") Duration interval) {
+        return new H2ReplicaCopier(dataSource.primary(), dataSource.replicas(), interval);
+    }
+
+    /**
+     * Installs {@link ReadYourWritesJpaDialect} before the entity manager factory initializes, so
+     * the transaction manager picks it up in place of the vendor adapter's dialect.
+     */
+    @Bean
+    public static BeanPostProcessor readYourWritesJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReadYourWritesJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadYourWrites::propagate;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesWindow)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.restaurant.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Serves {@code application/cbor} through Spring Boot's {@link CBORMapper}, so the
+ * {@code spring.jackson.cbor.*} settings apply; Spring MVC's built-in CBOR converter would use
+ * an unconfigured mapper. It keeps the built-in converter's place after JSON, so clients that
+ * accept anything still get JSON.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SerializationConfig implements WebMvcConfigurer {
+
+    private final CBORMapper cborMapper;
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.cache.HibernateCacheStats;
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.model.dto.CacheStatsResponse;
+import com.example.restaurant.model.dto.HibernateCacheStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final MenuItemCache menuItemCache;
+    private final HibernateCacheStats hibernateCacheStats;
+
+    @GetMapping("/menu-items/stats")
+    public ResponseEntity<CacheStatsResponse> getMenuItemCacheStats() {
+        return ResponseEntity.ok(menuItemCache.stats());
+    }
+
+    @GetMapping("/hibernate/stats")
+    public ResponseEntity<HibernateCacheStatsResponse> getHibernateCacheStats() {
+        return ResponseEntity.ok(hibernateCacheStats.stats());
+    }
+}
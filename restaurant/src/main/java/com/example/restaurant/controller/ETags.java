@@ -0,0 +1,73 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags derived from a restaurant's menu revision. The same value is used for the
+ * restaurant and for every listing of its menu; caches key entries by URL, so they never clash.
+ * Listings that negotiate a representation send {@code Vary: Accept} so they stay apart too.
+ * Status changes are guarded by the row's own version instead, so an edit elsewhere on the menu
+ * does not make a client's {@code If-Match} fail. A restaurant's status change also takes the
+ * revision tag its {@code GET} returned, which then holds against any change to the menu too.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String forMenuRevision(Long restaurantId, long menuRevision) {
+        return "\"" + restaurantId + "." + menuRevision + "\"";
+    }
+
+    /**
+     * Weak tag for the compact menu representation: its JSON and CBOR encodings carry the same
+     * content but not the same bytes.
+     */
+    static String forCompactMenuRevision(Long restaurantId, long menuRevision) {
+        return "W/\"" + restaurantId + "." + menuRevision + ".compact\"";
+    }
+
+    static String forVersion(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    /**
+     * Menu revision named by an {@code If-Match} header holding the restaurant's revision tag, or
+     * {@code null} when the header holds anything else.
+     */
+    static Long menuRevisionFromIfMatch(Long restaurantId, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + restaurantId + ".";
+        if (tag.length() > prefix.length() + 1 && tag.startsWith(prefix) && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // not a revision tag; left to versionFromIfMatch
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Version named by an {@code If-Match} header, or {@code null} when there is no header or it
+     * is {@code *}. Anything else, weak tags included, can never match a version tag, so it fails
+     * the precondition rather than being ignored.
+     */
+    static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(2, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not name a version of this resource");
+    }
+}
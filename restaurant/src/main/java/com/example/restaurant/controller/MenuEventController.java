@@ -0,0 +1,54 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.event.MenuEventStream;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/menu-events")
+@RequiredArgsConstructor
+public class MenuEventController {
+    
+    private final MenuEventStream menuEventStream;
+    
+    /**
+     * Live stream; resumes after {@code after}, or after the {@code Last-Event-ID} an
+     * {@code EventSource} sends when it reconnects.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuEvents(
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long restaurantId) {
+        return menuEventStream.subscribe(cursor(after, lastEventId), restaurantId);
+    }
+    
+    /**
+     * Catch-up: every event published after {@code after} as chunked NDJSON, then the response ends.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMenuEvents(
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(required = false) Long restaurantId) {
+        StreamingResponseBody body = output -> menuEventStream.writeNdjson(after, restaurantId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    private static long cursor(Long after, Long lastEventId) {
+        if (after != null) {
+            return after;
+        }
+        return lastEventId != null ? lastEventId : 0;
+    }
+}
@@ -1,27 +1,53 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.admission.AdmissionControlled;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusResponse;
+import com.example.restaurant.model.dto.CompactMenuResponse;
 import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.MenuItemImportResponse;
+import com.example.restaurant.model.dto.MenuItemPurgeResponse;
 import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemSliceResponse;
 import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
 import com.example.restaurant.model.enums.Category;
 import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.service.MenuItemImportService;
+import com.example.restaurant.service.MenuItemPurger;
 import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.util.List;
+
+@AdmissionControlled
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class MenuItemController {
     
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    
     private final MenuItemService menuItemService;
+    private final MenuItemImportService menuItemImportService;
+    private final MenuItemPurger menuItemPurger;
+    private final RestaurantService restaurantService;
     
     @PostMapping("/restaurants/{restaurantId}/menu-items")
     public ResponseEntity<MenuItemResponse> addMenuItem(
@@ -31,31 +57,156 @@ public class MenuItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping(value = "/restaurants/{restaurantId}/menu-items/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MenuItemImportResponse> importMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestBody List<CreateMenuItemRequest> requests) {
+        MenuItemImportResponse response = menuItemImportService.importMenuItems(restaurantId, requests);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping(value = "/restaurants/{restaurantId}/menu-items/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<MenuItemImportResponse> importMenuItemsStream(
+            @PathVariable Long restaurantId,
+            InputStream body) {
+        MenuItemImportResponse response = menuItemImportService.importMenuItems(restaurantId, body);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/restaurants/{restaurantId}/menu-items")
     public ResponseEntity<Page<MenuItemResponse>> getMenuItems(
             @PathVariable Long restaurantId,
             @RequestParam(required = false) Category category,
             @RequestParam(required = false) Status status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String eTag = menuETag(restaurantId, false);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<MenuItemResponse> response = menuItemService.getMenuItems(
             restaurantId, category, status, pageable);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+    
+    @GetMapping(value = "/restaurants/{restaurantId}/menu-items",
+            produces = {MenuMediaTypes.COMPACT_JSON_VALUE, MenuMediaTypes.CBOR_VALUE})
+    public ResponseEntity<CompactMenuResponse> getCompactMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String eTag = menuETag(restaurantId, true);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        CompactMenuResponse response = menuItemService.getCompactMenuItems(
+            restaurantId, category, status, PageRequest.of(page, size));
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
     
+    @GetMapping("/restaurants/{restaurantId}/menu-items/scroll")
+    public ResponseEntity<MenuItemSliceResponse> scrollMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(500) int size,
+            WebRequest webRequest) {
+        String eTag = menuETag(restaurantId, false);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        MenuItemSliceResponse response = menuItemService.scrollMenuItems(
+            restaurantId, category, status, after, size);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+    
+    @GetMapping(value = "/restaurants/{restaurantId}/menu-items/scroll",
+            produces = {MenuMediaTypes.COMPACT_JSON_VALUE, MenuMediaTypes.CBOR_VALUE})
+    public ResponseEntity<CompactMenuResponse> scrollCompactMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(500) int size,
+            WebRequest webRequest) {
+        String eTag = menuETag(restaurantId, true);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        CompactMenuResponse response = menuItemService.scrollCompactMenuItems(
+            restaurantId, category, status, after, size);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+    
+    /**
+     * With the status buffer enabled, a change without {@code If-Match} is group-committed:
+     * {@code Prefer: respond-async} answers 202 as soon as it is buffered, anything else waits
+     * for the flush and gets the written row. A conditional change always goes straight to the
+     * database, after the item's buffered changes, since it has to compare against a committed
+     * version.
+     */
     @PatchMapping("/menu-items/{menuItemId}/status")
     public ResponseEntity<MenuItemResponse> updateMenuItemStatus(
             @PathVariable Long menuItemId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer,
             @Valid @RequestBody UpdateMenuItemStatusRequest request) {
-        MenuItemResponse response = menuItemService.updateMenuItemStatus(menuItemId, request);
+        Long expectedVersion = ETags.versionFromIfMatch(ifMatch);
+        if (expectedVersion == null && menuItemService.isStatusBufferEnabled()) {
+            if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+                MenuItemResponse acknowledged = menuItemService.bufferMenuItemStatus(menuItemId, request, false);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                        .body(acknowledged);
+            }
+            MenuItemResponse response = menuItemService.bufferMenuItemStatus(menuItemId, request, true);
+            return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
+        }
+        menuItemService.awaitBufferedStatus(menuItemId);
+        MenuItemResponse response = menuItemService.updateMenuItemStatus(menuItemId, request, expectedVersion);
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
+    }
+    
+    @PatchMapping("/restaurants/{restaurantId}/menu-items/status")
+    public ResponseEntity<BulkUpdateMenuItemStatusResponse> updateMenuItemStatuses(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody BulkUpdateMenuItemStatusRequest request) {
+        menuItemService.awaitBufferedStatuses(restaurantId);
+        BulkUpdateMenuItemStatusResponse response = menuItemService.updateMenuItemStatuses(restaurantId, request);
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/menu-items/purge")
+    public ResponseEntity<MenuItemPurgeResponse> purgeDeletedMenuItems() {
+        return ResponseEntity.ok(menuItemPurger.purge());
+    }
+    
     @DeleteMapping("/menu-items/{menuItemId}")
     public ResponseEntity<Void> deleteMenuItem(@PathVariable Long menuItemId) {
+        menuItemService.awaitBufferedStatus(menuItemId);
         menuItemService.deleteMenuItem(menuItemId);
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * Listing tag for the restaurant's menu revision, or {@code null} while it has buffered
+     * status changes: the revision only moves when they are flushed, so a tag now would let a
+     * client keep a listing that no longer shows them.
+     */
+    private String menuETag(Long restaurantId, boolean compact) {
+        if (menuItemService.hasBufferedStatuses(restaurantId)) {
+            return null;
+        }
+        long menuRevision = restaurantService.getMenuRevision(restaurantId);
+        return compact
+                ? ETags.forCompactMenuRevision(restaurantId, menuRevision)
+                : ETags.forMenuRevision(restaurantId, menuRevision);
+    }
 }
 
@@ -0,0 +1,88 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.enums.ExportFormat;
+import com.example.restaurant.service.MenuItemExportService;
+import com.example.restaurant.service.RestaurantService;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class MenuItemExportController {
+    
+    private final MenuItemExportService menuItemExportService;
+    private final RestaurantService restaurantService;
+    
+    @GetMapping("/menu-items/export")
+    public ResponseEntity<StreamingResponseBody> exportMenuItems(
+            @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(null, format, acceptEncoding, "menu-items");
+    }
+    
+    @GetMapping("/restaurants/{restaurantId}/menu-items/export")
+    public ResponseEntity<StreamingResponseBody> exportRestaurantMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        restaurantService.ensureRestaurantExists(restaurantId);
+        return export(restaurantId, format, acceptEncoding, "restaurant-" + restaurantId + "-menu-items");
+    }
+    
+    /**
+     * Compresses in the handler rather than relying on container compression, so gzip also works
+     * when the war runs in an external servlet container.
+     */
+    private ResponseEntity<StreamingResponseBody> export(
+            Long restaurantId, String format, String acceptEncoding, String baseName) {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(output, 64 * 1024)) {
+                    menuItemExportService.export(restaurantId, exportFormat, compressed);
+                }
+            } else {
+                menuItemExportService.export(restaurantId, exportFormat, output);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(baseName + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT).replace(" ", ""))
+                .anyMatch(coding -> coding.startsWith("gzip")
+                        && !coding.matches("gzip;q=0(\\.0{0,3})?"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.MenuItemSearchResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.service.MenuItemSearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class MenuItemSearchController {
+    
+    private final MenuItemSearchService menuItemSearchService;
+    
+    @GetMapping("/menu-items/search")
+    public ResponseEntity<MenuItemSearchResponse> searchMenuItems(
+            @RequestParam @NotBlank String q,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Status status,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(menuItemSearchService.search(q, category, status, limit));
+    }
+    
+    @GetMapping("/restaurants/{restaurantId}/menu-items/search")
+    public ResponseEntity<MenuItemSearchResponse> searchRestaurantMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam @NotBlank String q,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Status status,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(menuItemSearchService.searchRestaurant(restaurantId, q, category, status, limit));
+    }
+}
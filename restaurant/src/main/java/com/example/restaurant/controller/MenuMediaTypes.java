@@ -0,0 +1,16 @@
+package com.example.restaurant.controller;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types of the compact menu representation. Plain JSON stays the default; clients opt in
+ * through {@code Accept}.
+ */
+final class MenuMediaTypes {
+
+    static final String COMPACT_JSON_VALUE = "application/vnd.restaurant.menu-compact+json";
+    static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    private MenuMediaTypes() {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.MenuSummaryReconcileResponse;
+import com.example.restaurant.model.dto.MenuSummaryResponse;
+import com.example.restaurant.service.MenuSummaryReconciler;
+import com.example.restaurant.service.MenuSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class MenuSummaryController {
+
+    private final MenuSummaryService menuSummaryService;
+    private final MenuSummaryReconciler menuSummaryReconciler;
+
+    @GetMapping("/restaurants/{restaurantId}/menu-summary")
+    public ResponseEntity<MenuSummaryResponse> getMenuSummary(@PathVariable Long restaurantId) {
+        return ResponseEntity.ok(menuSummaryService.getMenuSummary(restaurantId));
+    }
+
+    @PostMapping("/menu-summaries/reconcile")
+    public ResponseEntity<MenuSummaryReconcileResponse> reconcileMenuSummaries() {
+        return ResponseEntity.ok(menuSummaryReconciler.reconcile());
+    }
+}
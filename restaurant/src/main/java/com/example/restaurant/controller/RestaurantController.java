@@ -1,17 +1,29 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.admission.AdmissionControlled;
 import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.RestaurantBatchRequest;
+import com.example.restaurant.model.dto.RestaurantBatchResponse;
 import com.example.restaurant.model.dto.RestaurantResponse;
 import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
+import com.example.restaurant.service.RestaurantBatchService;
 import com.example.restaurant.service.RestaurantService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
+
+@AdmissionControlled(restaurantIdVariable = "id")
 @RestController
 @RequestMapping("/api/v1/restaurants")
 @RequiredArgsConstructor
@@ -20,6 +32,9 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private RestaurantBatchService restaurantBatchService;
+
     @PostMapping
     public ResponseEntity<RestaurantResponse> createRestaurant(@Valid @RequestBody CreateRestaurantRequest request) {
      RestaurantResponse response = restaurantService.createRestaurant(request);
@@ -27,17 +42,36 @@ public class RestaurantController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<RestaurantResponse> getRestaurantById(@PathVariable Long id) {
+    public ResponseEntity<RestaurantResponse> getRestaurantById(@PathVariable Long id, WebRequest webRequest) {
         RestaurantResponse response = restaurantService.getRestaurantById(id);
-        return ResponseEntity.ok(response);
+        String eTag = ETags.forMenuRevision(id, response.getMenuRevision());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<RestaurantBatchResponse> getRestaurants(
+            @RequestParam @NotEmpty @Size(max = 1000) List<@NotNull Long> ids) {
+        return ResponseEntity.ok(restaurantBatchService.getRestaurants(ids));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<RestaurantBatchResponse> getRestaurants(@Valid @RequestBody RestaurantBatchRequest request) {
+        return ResponseEntity.ok(restaurantBatchService.getRestaurants(request.getIds()));
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<RestaurantResponse> updateRestaurantStatus(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateRestaurantStatusRequest request) {
-        RestaurantResponse response = restaurantService.updateRestaurantStatus(id, request);
-        return ResponseEntity.ok(response);
+        Long expectedMenuRevision = ETags.menuRevisionFromIfMatch(id, ifMatch);
+        Long expectedVersion = expectedMenuRevision == null ? ETags.versionFromIfMatch(ifMatch) : null;
+        RestaurantResponse response = restaurantService.updateRestaurantStatus(
+            id, request, expectedVersion, expectedMenuRevision);
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
     }
 }
 
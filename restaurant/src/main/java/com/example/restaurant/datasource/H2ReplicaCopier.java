@@ -0,0 +1,111 @@
+package com.example.restaurant.datasource;
+
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for replication between local H2 databases, which have none of their own. The
+ * primary is copied over every replica before the web server starts and then once per interval,
+ * so the replicas trail the primary by up to that interval the way real ones trail by their lag.
+ * A replica is switched to exclusive mode while it is rebuilt, which pauses its readers instead
+ * of showing them a half-copied schema; a round that fails is simply retried by the next one.
+ */
+public class H2ReplicaCopier implements SmartLifecycle {
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    public H2ReplicaCopier(DataSource primary, List<? extends DataSource> replicas, Duration interval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.interval = interval;
+    }
+
+    /**
+     * Copies the primary's current schema and rows over every replica.
+     */
+    public void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                String line = rows.getString(1);
+                if (!line.startsWith("--")) {
+                    script.add(line);
+                }
+            }
+        }
+        for (DataSource replica : replicas) {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET EXCLUSIVE 1");
+                try {
+                    statement.execute("DROP ALL OBJECTS");
+                    for (String line : script) {
+                        statement.execute(line);
+                    }
+                } finally {
+                    statement.execute("SET EXCLUSIVE 0");
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        replicateQuietly();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replica-copier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::replicateQuietly,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Runs ahead of the web server, so no request reaches a replica that has not been copied yet.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    private void replicateQuietly() {
+        try {
+            replicate();
+        } catch (SQLException | RuntimeException ex) {
+            // the replicas keep their previous copy until the next round
+        }
+    }
+}
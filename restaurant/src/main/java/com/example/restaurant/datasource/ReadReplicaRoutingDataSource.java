@@ -0,0 +1,123 @@
+package com.example.restaurant.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to the replica pools, round-robin, and everything else to the
+ * primary. The physical connection is fetched lazily on the first statement, after the
+ * transaction manager has marked the transaction read-only; a read pinned by
+ * {@link ReadYourWrites} stays on the primary, and a replica that cannot hand out a connection
+ * falls back to the primary rather than failing the read.
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable, MeterBinder {
+
+    private final Router router;
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas) {
+        this(new Router(primary, replicas));
+    }
+
+    private ReadReplicaRoutingDataSource(Router router) {
+        super(router);
+        this.router = router;
+    }
+
+    public HikariDataSource primary() {
+        return router.primary;
+    }
+
+    public List<HikariDataSource> replicas() {
+        return router.replicas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        MicrometerMetricsTrackerFactory trackerFactory = new MicrometerMetricsTrackerFactory(registry);
+        for (HikariDataSource pool : router.pools()) {
+            if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                pool.setMetricsTrackerFactory(trackerFactory);
+            }
+        }
+        registerCounter(registry, router.primary, router.primaryConnections, "primary");
+        for (int i = 0; i < router.replicas.size(); i++) {
+            registerCounter(registry, router.replicas.get(i), router.replicaConnections.get(i), "replica");
+        }
+        FunctionCounter.builder("datasource.routing.fallbacks", router.fallbacks, AtomicLong::get)
+                .description("Read-only connections served by the primary because a replica failed")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        router.pools().forEach(HikariDataSource::close);
+    }
+
+    private static void registerCounter(MeterRegistry registry, HikariDataSource pool, AtomicLong counter, String role) {
+        FunctionCounter.builder("datasource.routing.connections", counter, AtomicLong::get)
+                .description("Connections handed out per routing target")
+                .tag("pool", pool.getPoolName())
+                .tag("role", role)
+                .register(registry);
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final HikariDataSource primary;
+        private final List<HikariDataSource> replicas;
+        private final AtomicLong primaryConnections = new AtomicLong();
+        private final List<AtomicLong> replicaConnections = new ArrayList<>();
+        private final AtomicLong fallbacks = new AtomicLong();
+        private final AtomicInteger next = new AtomicInteger();
+
+        Router(HikariDataSource primary, List<HikariDataSource> replicas) {
+            if (replicas.isEmpty()) {
+                throw new IllegalArgumentException("At least one replica data source is required");
+            }
+            this.primary = primary;
+            this.replicas = List.copyOf(replicas);
+            replicas.forEach(replica -> replicaConnections.add(new AtomicLong()));
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+                int index = Math.floorMod(next.getAndIncrement(), replicas.size());
+                try {
+                    Connection connection = replicas.get(index).getConnection();
+                    replicaConnections.get(index).incrementAndGet();
+                    return connection;
+                } catch (SQLException ex) {
+                    fallbacks.incrementAndGet();
+                }
+            }
+            primaryConnections.incrementAndGet();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Routed connections use the credentials of each pool");
+        }
+
+        List<HikariDataSource> pools() {
+            List<HikariDataSource> pools = new ArrayList<>(replicas.size() + 1);
+            pools.add(primary);
+            pools.addAll(replicas);
+            return pools;
+        }
+    }
+}
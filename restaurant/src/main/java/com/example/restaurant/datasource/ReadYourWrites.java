@@ -0,0 +1,58 @@
+package com.example.restaurant.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound override that keeps read-only transactions on the primary. Set for a client's
+ * requests while its own recent writes may not have reached the replicas yet, and around reads
+ * that must be authoritative rather than merely recent.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPinned()) {
+            return action.get();
+        }
+        pin();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Carries the caller's pin over to a task handed to another thread, such as the application
+     * task executor.
+     */
+    public static Runnable propagate(Runnable task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> onPrimary(task);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.restaurant.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps Hibernate's shared caches filled from the primary only. A read-only transaction that is
+ * not pinned by {@link ReadYourWrites} runs on a replica that may not have seen the last write, and
+ * what it loads must not be stored: the query and second-level regions have no expiry, so replica
+ * data cached just after the writer's invalidation would stay there until the next write. Such
+ * sessions bypass the caches altogether, since a query cache miss is stored even under
+ * {@link CacheMode#GET}. A pinned session reads past the caches to the primary and stores what it
+ * read in their place, and read-write transactions use the caches as usual.
+ */
+public class ReadYourWritesJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        entityManager.unwrap(Session.class).setCacheMode(cacheMode(definition));
+        return super.beginTransaction(entityManager, definition);
+    }
+
+    private static CacheMode cacheMode(TransactionDefinition definition) {
+        if (ReadYourWrites.isPinned()) {
+            return CacheMode.REFRESH;
+        }
+        return definition.isReadOnly() ? CacheMode.IGNORE : CacheMode.NORMAL;
+    }
+}
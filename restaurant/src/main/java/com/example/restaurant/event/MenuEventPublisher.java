@@ -0,0 +1,99 @@
+package com.example.restaurant.event;
+
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.RestaurantResponse;
+import com.example.restaurant.model.entity.MenuEvent;
+import com.example.restaurant.model.enums.MenuEventType;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records menu changes in the {@code menu_events} outbox. Every method joins the caller's
+ * transaction, so an event exists exactly when the change it describes committed; the relay is
+ * woken after commit to publish it.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class MenuEventPublisher {
+
+    private final MenuEventRepository menuEventRepository;
+    private final MenuEventRelay menuEventRelay;
+    private final ObjectMapper objectMapper;
+
+    public void menuItemCreated(MenuItemResponse item) {
+        menuItemsCreated(List.of(item));
+    }
+
+    public void menuItemsCreated(Collection<MenuItemResponse> items) {
+        append(items.stream()
+                .map(item -> event(MenuEventType.MENU_ITEM_CREATED, item.getRestaurantId(), item.getId(), item))
+                .toList());
+    }
+
+    public void menuItemStatusChanged(Long restaurantId, Long menuItemId, Status status) {
+        menuItemsStatusChanged(restaurantId, List.of(menuItemId), status);
+    }
+
+    public void menuItemsStatusChanged(Long restaurantId, Collection<Long> menuItemIds, Status status) {
+        append(menuItemIds.stream()
+                .map(id -> event(MenuEventType.MENU_ITEM_STATUS_CHANGED, restaurantId, id, payload(
+                        "id", id, "restaurantId", restaurantId, "status", status)))
+                .toList());
+    }
+
+    public void menuItemDeleted(Long restaurantId, Long menuItemId) {
+        append(List.of(event(MenuEventType.MENU_ITEM_DELETED, restaurantId, menuItemId, payload(
+                "id", menuItemId, "restaurantId", restaurantId))));
+    }
+
+    public void restaurantStatusChanged(RestaurantResponse restaurant) {
+        MenuEventType type = restaurant.isOpen() ? MenuEventType.RESTAURANT_OPENED : MenuEventType.RESTAURANT_CLOSED;
+        append(List.of(event(type, restaurant.getId(), null, payload(
+                "id", restaurant.getId(), "name", restaurant.getName(), "isOpen", restaurant.isOpen()))));
+    }
+
+    private void append(List<MenuEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        menuEventRepository.saveAll(events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                menuEventRelay.wake();
+            }
+        });
+    }
+
+    private MenuEvent event(MenuEventType type, Long restaurantId, Long menuItemId, Object payload) {
+        MenuEvent event = new MenuEvent();
+        event.setType(type);
+        event.setRestaurantId(restaurantId);
+        event.setMenuItemId(menuItemId);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+
+    private static Map<String, Object> payload(Object... keysAndValues) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            payload.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return payload;
+    }
+}
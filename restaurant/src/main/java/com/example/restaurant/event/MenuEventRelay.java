@@ -0,0 +1,101 @@
+package com.example.restaurant.event;
+
+import com.example.restaurant.model.entity.MenuEvent;
+import com.example.restaurant.model.entity.MenuEventSequence;
+import com.example.restaurant.repository.MenuEventRepository;
+import com.example.restaurant.repository.MenuEventSequenceRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes committed outbox rows by giving them the next stream sequence numbers, in the order
+ * the relay first sees them. Because only committed rows are visible here, a consumer that resumes
+ * after sequence {@code n} can never miss an event that commits later with a smaller id.
+ *
+ * <p>Writers wake the relay after commit; a scheduled sweep catches anything a wake-up missed,
+ * e.g. after a restart. Numbers come from the {@link MenuEventSequence} row, which each batch
+ * holds locked until it commits, so relays of several instances sharing the database never hand
+ * out the same number and never let a smaller one commit after a larger one.
+ */
+@Component
+public class MenuEventRelay {
+
+    private final MenuEventRepository menuEventRepository;
+    private final MenuEventSequenceRepository menuEventSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MenuEventStream menuEventStream;
+    private final int batchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-event-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    public MenuEventRelay(
+            MenuEventRepository menuEventRepository,
+            MenuEventSequenceRepository menuEventSequenceRepository,
+            TransactionTemplate transactionTemplate,
+            MenuEventStream menuEventStream,
+            @Value("${menu.events.batch-size:500}") int batchSize) {
+        this.menuEventRepository = menuEventRepository;
+        this.menuEventSequenceRepository = menuEventSequenceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.menuEventStream = menuEventStream;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Schedules a publish run; wake-ups that arrive while one is already queued are coalesced.
+     */
+    public void wake() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                publishPending();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${menu.events.relay-interval:1s}")
+    public synchronized void publishPending() {
+        int published = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(tx -> publishBatch());
+            published += batch;
+        } while (batch == batchSize);
+        if (published > 0) {
+            menuEventStream.onPublished();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int publishBatch() {
+        MenuEventSequence sequence = menuEventSequenceRepository.lock().orElseGet(() -> {
+            menuEventSequenceRepository.createIfAbsent(menuEventRepository.findMaxSequence());
+            return menuEventSequenceRepository.lock().orElseThrow();
+        });
+        List<MenuEvent> pending = menuEventRepository.findBySequenceIsNullOrderByIdAsc(Limit.of(batchSize));
+        long last = sequence.getLastSequence();
+        for (MenuEvent event : pending) {
+            event.setSequence(++last);
+        }
+        sequence.setLastSequence(last);
+        return pending.size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.restaurant.event;
+
+import com.example.restaurant.model.dto.MenuEventResponse;
+import com.example.restaurant.repository.MenuEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the published event log to consumers, either as a live server-sent event stream or as a
+ * finite NDJSON catch-up. Both resume strictly after a given sequence number.
+ *
+ * <p>Live subscribers are never handed events directly: a publish only schedules each subscriber
+ * to read the log after its own cursor, so deliveries stay gap-free and in order no matter how
+ * publishes and reconnects interleave.
+ */
+@Component
+public class MenuEventStream implements MeterBinder {
+
+    private final MenuEventRepository menuEventRepository;
+    private final TaskExecutor taskExecutor;
+    private final ObjectMapper objectMapper;
+    private final Duration streamTimeout;
+    private final int batchSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public MenuEventStream(
+            MenuEventRepository menuEventRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            ObjectMapper objectMapper,
+            @Value("${menu.events.stream-timeout:30m}") Duration streamTimeout,
+            @Value("${menu.events.batch-size:500}") int batchSize) {
+        this.menuEventRepository = menuEventRepository;
+        this.taskExecutor = taskExecutor;
+        this.objectMapper = objectMapper;
+        this.streamTimeout = streamTimeout;
+        this.batchSize = batchSize;
+    }
+
+    public SseEmitter subscribe(long after, Long restaurantId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, restaurantId, after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public void writeNdjson(long after, Long restaurantId, OutputStream output) throws IOException {
+        long cursor = after;
+        List<MenuEventResponse> events;
+        do {
+            events = page(restaurantId, cursor);
+            for (MenuEventResponse event : events) {
+                output.write(objectMapper.writeValueAsBytes(event));
+                output.write('\n');
+                cursor = event.getSequence();
+            }
+            output.flush();
+        } while (events.size() == batchSize);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("menu.events.subscribers", this, MenuEventStream::subscriberCount)
+                .description("Open menu event stream connections")
+                .register(registry);
+    }
+
+    void onPublished() {
+        subscribers.forEach(this::schedule);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.catchUpPending.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                subscriber.catchUpPending.set(false);
+                catchUp(subscriber);
+            });
+        }
+    }
+
+    private void catchUp(Subscriber subscriber) {
+        synchronized (subscriber) {
+            try {
+                List<MenuEventResponse> events;
+                do {
+                    events = page(subscriber.restaurantId, subscriber.cursor);
+                    for (MenuEventResponse event : events) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getSequence()))
+                                .name(event.getType().name())
+                                .data(event, MediaType.APPLICATION_JSON));
+                        subscriber.cursor = event.getSequence();
+                    }
+                } while (events.size() == batchSize);
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    private List<MenuEventResponse> page(Long restaurantId, long after) {
+        return restaurantId == null
+                ? menuEventRepository.findPublishedAfter(after, Limit.of(batchSize))
+                : menuEventRepository.findPublishedAfterForRestaurant(restaurantId, after, Limit.of(batchSize));
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long restaurantId;
+        private final AtomicBoolean catchUpPending = new AtomicBoolean();
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, Long restaurantId, long cursor) {
+            this.emitter = emitter;
+            this.restaurantId = restaurantId;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.example.restaurant.exception;
 
 import com.example.restaurant.model.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
     
+    private final MeterRegistry meterRegistry;
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
         ErrorResponse error = ErrorResponse.builder()
                 .error("RESOURCE_NOT_FOUND")
                 .message(ex.getMessage())
                 .build();
+        recordException("RESOURCE_NOT_FOUND", ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
@@ -28,6 +39,7 @@ public class GlobalExceptionHandler {
                 .error("DUPLICATE_RESOURCE")
                 .message(ex.getMessage())
                 .build();
+        recordException("DUPLICATE_RESOURCE", ex);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
@@ -37,9 +49,68 @@ public class GlobalExceptionHandler {
                 .error("RESTAURANT_CLOSED")
                 .message(ex.getMessage())
                 .build();
+        recordException("RESTAURANT_CLOSED", ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("INVALID_CURSOR")
+                .message(ex.getMessage())
+                .build();
+        recordException("INVALID_CURSOR", ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("PRECONDITION_FAILED")
+                .message(ex.getMessage())
+                .build();
+        recordException("PRECONDITION_FAILED", ex);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    /**
+     * A version check that failed at flush time: someone else changed the row between our read
+     * and our write. The client has to re-read before it can decide whether to try again.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("PRECONDITION_FAILED")
+                .message("The resource was modified concurrently; re-read it and retry")
+                .build();
+        recordException("PRECONDITION_FAILED", ex);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    @ExceptionHandler(RestaurantOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleRestaurantOverloadedException(RestaurantOverloadedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("RESTAURANT_OVERLOADED")
+                .message(ex.getMessage())
+                .build();
+        recordException("RESTAURANT_OVERLOADED", ex);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(error);
+    }
+    
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("SERVICE_OVERLOADED")
+                .message(ex.getMessage())
+                .build();
+        recordException("SERVICE_OVERLOADED", ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(error);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getFieldErrors().stream()
@@ -50,6 +121,21 @@ public class GlobalExceptionHandler {
                 .error("VALIDATION_ERROR")
                 .message(message)
                 .build();
+        recordException("VALIDATION_ERROR", ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationException(HandlerMethodValidationException ex) {
+        String message = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .error("VALIDATION_ERROR")
+                .message(message)
+                .build();
+        recordException("VALIDATION_ERROR", ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
@@ -59,7 +145,19 @@ public class GlobalExceptionHandler {
                 .error("INTERNAL_SERVER_ERROR")
                 .message("An unexpected error occurred: " + ex.getMessage())
                 .build();
+        recordException("INTERNAL_SERVER_ERROR", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
+    
+    /** Retry-After only carries whole seconds; round up so clients never come back early. */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+    
+    private void recordException(String error, Exception ex) {
+        meterRegistry.counter("api.exceptions",
+                "error", error,
+                "exception", ex.getClass().getSimpleName())
+                .increment();
+    }
 }
-
@@ -0,0 +1,8 @@
+package com.example.restaurant.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
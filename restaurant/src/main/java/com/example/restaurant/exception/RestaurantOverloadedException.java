@@ -0,0 +1,17 @@
+package com.example.restaurant.exception;
+
+import java.time.Duration;
+
+public class RestaurantOverloadedException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public RestaurantOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.restaurant.model.dto;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateMenuItemStatusRequest {
+    
+    @Size(max = 1000, message = "At most 1000 menu item ids can be updated at once")
+    private List<@NotNull(message = "Menu item id must not be null") Long> ids;
+    
+    private Category category;
+    
+    @NotNull(message = "Status is required")
+    private Status status;
+    
+    @JsonIgnore
+    @AssertTrue(message = "Either ids or category is required")
+    public boolean isScoped() {
+        return (ids != null && !ids.isEmpty()) || category != null;
+    }
+}
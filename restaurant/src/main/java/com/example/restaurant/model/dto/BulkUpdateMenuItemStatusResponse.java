@@ -0,0 +1,23 @@
+package com.example.restaurant.model.dto;
+
+import com.example.restaurant.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateMenuItemStatusResponse {
+    
+    private Long restaurantId;
+    private Status status;
+    private int updated;
+    private List<Long> updatedIds;
+    private List<Long> unchangedIds;
+    private List<Long> notFoundIds;
+}
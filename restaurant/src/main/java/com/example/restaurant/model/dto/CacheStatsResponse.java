@@ -0,0 +1,22 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+
+    private boolean enabled;
+    private long size;
+    private long maximumSize;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
@@ -0,0 +1,37 @@
+package com.example.restaurant.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Menu listing for clients that fetch whole menus: the restaurant is named once instead of on
+ * every item, items are positional arrays {@code [id, name, price, category, status]} with
+ * one-letter enum codes, and only the paging fields a client needs for the next request are kept.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactMenuResponse {
+
+    private Long restaurantId;
+    private String restaurantName;
+    private List<Item> items;
+    /** Offset listings only. */
+    private Long total;
+    /** Keyset listings only; absent on the last slice. */
+    private String next;
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "name", "price", "category", "status"})
+    public record Item(long id, String name, double price, String category, String status) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HibernateCacheStatsResponse {
+
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private long secondLevelCachePutCount;
+    private long naturalIdCacheHitCount;
+    private long naturalIdCacheMissCount;
+    private long naturalIdCachePutCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private long queryCachePutCount;
+    private long queryExecutionCount;
+    private long entityLoadCount;
+    private List<Region> regions;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Region {
+
+        private String name;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private double hitRate;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.restaurant.model.dto;
+
+import com.example.restaurant.model.enums.MenuEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuEventResponse {
+    
+    private Long sequence;
+    private MenuEventType type;
+    private Long restaurantId;
+    private Long menuItemId;
+    private Instant occurredAt;
+    
+    @JsonRawValue
+    private String payload;
+}
@@ -0,0 +1,21 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemImportResponse {
+    
+    private Long restaurantId;
+    private int total;
+    private int created;
+    private int failed;
+    private List<MenuItemImportResult> results;
+}
@@ -0,0 +1,20 @@
+package com.example.restaurant.model.dto;
+
+import com.example.restaurant.model.enums.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemImportResult {
+    
+    private int row;
+    private String name;
+    private ImportStatus status;
+    private Long id;
+    private String message;
+}
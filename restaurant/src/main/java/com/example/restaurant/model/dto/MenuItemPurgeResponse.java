@@ -0,0 +1,17 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemPurgeResponse {
+
+    private long rowsPurged;
+    private long batches;
+    private long durationMillis;
+}
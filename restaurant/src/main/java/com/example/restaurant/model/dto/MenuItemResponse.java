@@ -2,6 +2,7 @@ package com.example.restaurant.model.dto;
 
 import com.example.restaurant.model.enums.Category;
 import com.example.restaurant.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,5 +21,8 @@ public class MenuItemResponse {
     private Status status;
     private Long restaurantId;
     private String restaurantName;
+    /** Absent on search results, which are served from the index rather than the table. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 }
 
@@ -0,0 +1,20 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemSearchResponse {
+    
+    private String query;
+    private int total;
+    private boolean totalExact;
+    private List<MenuItemResponse> content;
+}
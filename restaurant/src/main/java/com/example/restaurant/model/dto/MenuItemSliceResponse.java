@@ -0,0 +1,20 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemSliceResponse {
+    
+    private List<MenuItemResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuSummaryReconcileResponse {
+
+    private long restaurantsChecked;
+    private long restaurantsRepaired;
+    private long durationMillis;
+}
@@ -0,0 +1,34 @@
+package com.example.restaurant.model.dto;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuSummaryResponse {
+
+    private long totalItems;
+    private long availableItems;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double averagePrice;
+    private Map<Category, CategoryCount> categories;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryCount {
+
+        private long total;
+        private long available;
+        private Map<Status, Long> statuses;
+    }
+}
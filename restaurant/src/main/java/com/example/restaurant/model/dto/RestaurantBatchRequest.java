@@ -0,0 +1,20 @@
+package com.example.restaurant.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantBatchRequest {
+    
+    @NotEmpty(message = "At least one restaurant id is required")
+    @Size(max = 1000, message = "At most 1000 restaurants can be fetched at once")
+    private List<@NotNull(message = "Restaurant id must not be null") Long> ids;
+}
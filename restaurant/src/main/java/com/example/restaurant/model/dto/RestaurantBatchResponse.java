@@ -0,0 +1,18 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantBatchResponse {
+
+    private List<RestaurantSummaryResponse> restaurants;
+    private List<Long> notFoundIds;
+}
@@ -15,5 +15,7 @@ public class RestaurantResponse {
     private String name;
     private String location;
     private boolean isOpen;
+    private long menuRevision;
+    private long version;
 }
 
@@ -0,0 +1,16 @@
+package com.example.restaurant.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSummaryResponse {
+
+    private RestaurantResponse restaurant;
+    private MenuSummaryResponse menu;
+}
@@ -0,0 +1,53 @@
+package com.example.restaurant.model.entity;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A deleted menu item moved out of {@code menu_items} by the purge job, or when its name was
+ * taken again. Nothing reads it on a request path, so it keeps the restaurant as a plain id and
+ * has no indexes beyond its key.
+ */
+@Entity
+@Table(name = "menu_items_archive")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedMenuItem {
+
+    @Id
+    private Long id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private double price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private long version;
+
+    /** Null for items deleted before deletion times were recorded. */
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,52 @@
+package com.example.restaurant.model.entity;
+
+import com.example.restaurant.model.enums.MenuEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Transactional outbox row: written in the same transaction as the menu change it describes and
+ * published to the event stream once that transaction has committed.
+ */
+@Entity
+@Table(name = "menu_events", indexes = {
+    @Index(name = "idx_menu_events_sequence", columnList = "sequence_number", unique = true),
+    @Index(name = "idx_menu_events_restaurant_sequence", columnList = "restaurant_id, sequence_number")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_events_seq")
+    @SequenceGenerator(name = "menu_events_seq", sequenceName = "menu_events_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Position in the event stream, assigned by the relay after commit so that it follows commit
+     * order; null while the event is still pending.
+     */
+    @Column(name = "sequence_number")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private MenuEventType type;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
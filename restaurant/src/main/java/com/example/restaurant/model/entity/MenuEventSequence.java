@@ -0,0 +1,27 @@
+package com.example.restaurant.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last sequence number handed out to the event stream, in a single row. The relay locks the row
+ * for as long as it numbers a batch, so relays of several instances take turns and their numbers
+ * still follow commit order.
+ */
+@Entity
+@Table(name = "menu_event_sequence")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuEventSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
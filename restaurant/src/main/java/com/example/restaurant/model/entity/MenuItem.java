@@ -6,10 +6,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "menu_items", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "restaurant_id"})
+}, indexes = {
+    @Index(name = "idx_menu_items_restaurant", columnList = "restaurant_id, deleted, id"),
+    @Index(name = "idx_menu_items_restaurant_category", columnList = "restaurant_id, deleted, category, id"),
+    @Index(name = "idx_menu_items_restaurant_status", columnList = "restaurant_id, deleted, status, id"),
+    @Index(name = "idx_menu_items_restaurant_category_status", columnList = "restaurant_id, deleted, category, status, id"),
+    @Index(name = "idx_menu_items_deleted", columnList = "deleted, deleted_at")
 })
 @Data
 @AllArgsConstructor
@@ -17,7 +26,8 @@ import lombok.NoArgsConstructor;
 public class MenuItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -40,4 +50,17 @@ public class MenuItem {
 
     @Column(nullable = false)
     private boolean deleted = false;
+
+    /** When the item was soft-deleted; the purge job archives it once this is past retention. */
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    /**
+     * Optimistic-lock version, exposed to clients as the item's entity tag. Bulk JPQL updates
+     * bypass Hibernate's check, so they bump it themselves.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
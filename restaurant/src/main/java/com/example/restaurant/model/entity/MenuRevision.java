@@ -0,0 +1,26 @@
+package com.example.restaurant.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Menu revision of a restaurant, bumped on every change to the restaurant or its menu and served
+ * as the strong ETag of both. Kept out of {@link Restaurant} so the counter, which moves with
+ * every menu write, never invalidates the cached restaurant row. The row is created together with
+ * the restaurant at revision 0.
+ */
+@Entity
+@Table(name = "menu_revisions")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuRevision {
+
+    @Id
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private long revision;
+}
@@ -0,0 +1,58 @@
+package com.example.restaurant.model.entity;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Materialized menu aggregate of one restaurant, category and status: how many live items fall in
+ * the bucket and the sum, minimum and maximum of their prices. Menu writers maintain it with
+ * atomic deltas in their own transaction. Every restaurant has all of its buckets from creation
+ * on; an empty one has a zero count and no price range.
+ */
+@Entity
+@Table(name = "menu_summaries")
+@IdClass(MenuSummary.Key.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuSummary {
+
+    @Id
+    private Long restaurantId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Category category;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false)
+    private double priceSum;
+
+    @Column
+    private Double priceMin;
+
+    @Column
+    private Double priceMax;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long restaurantId;
+        private Category category;
+        private Status status;
+    }
+}
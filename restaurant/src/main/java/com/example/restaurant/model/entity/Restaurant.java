@@ -4,9 +4,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+/**
+ * Restaurants change rarely and are read on every menu request, so rows are kept in the
+ * second-level cache and can also be resolved by {@link #name} without touching the database.
+ * The menu revision, which changes with every menu write, lives in {@link MenuRevision};
+ * {@link #version} only tracks changes to the restaurant row itself.
+ */
 @Entity
 @Table(name = "restaurants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurants")
+@NaturalIdCache(region = "restaurant-names")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,7 +30,8 @@ public class Restaurant {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @NaturalId
+    @Column(nullable = false)
     private String name;
 
     @Column
@@ -24,4 +39,9 @@ public class Restaurant {
 
     @Column(nullable = false)
     private boolean isOpen = true;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
@@ -1,5 +1,16 @@
 package com.example.restaurant.model.enums;
 
 public enum Category {
-    VEG, NON_VEG, DESSERT, DRINK
+    VEG("V"), NON_VEG("N"), DESSERT("D"), DRINK("K");
+
+    private final String code;
+
+    Category(String code) {
+        this.code = code;
+    }
+
+    /** Short code used by the compact menu representation. */
+    public String getCode() {
+        return code;
+    }
 }
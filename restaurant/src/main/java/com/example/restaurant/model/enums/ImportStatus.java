@@ -0,0 +1,5 @@
+package com.example.restaurant.model.enums;
+
+public enum ImportStatus {
+    CREATED, DUPLICATE, INVALID
+}
@@ -0,0 +1,5 @@
+package com.example.restaurant.model.enums;
+
+public enum MenuEventType {
+    MENU_ITEM_CREATED, MENU_ITEM_STATUS_CHANGED, MENU_ITEM_DELETED, RESTAURANT_OPENED, RESTAURANT_CLOSED
+}
@@ -1,5 +1,16 @@
 package com.example.restaurant.model.enums;
 
 public enum Status{
-    AVAILABLE, OUT_OF_STOCK
+    AVAILABLE("A"), OUT_OF_STOCK("O");
+
+    private final String code;
+
+    Status(String code) {
+        this.code = code;
+    }
+
+    /** Short code used by the compact menu representation. */
+    public String getCode() {
+        return code;
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+
+/**
+ * Live menu items of one restaurant, category and status, counted straight from
+ * {@code menu_items}: the reference the materialized summary is reconciled against.
+ */
+public record MenuBucketStats(Long restaurantId, Category category, Status status,
+                              long itemCount, double priceSum, double priceMin, double priceMax) {
+}
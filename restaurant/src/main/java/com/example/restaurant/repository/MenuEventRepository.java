@@ -0,0 +1,33 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.dto.MenuEventResponse;
+import com.example.restaurant.model.entity.MenuEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MenuEventRepository extends JpaRepository<MenuEvent, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.example.restaurant.model.dto.MenuEventResponse("
+        + "e.sequence, e.type, e.restaurantId, e.menuItemId, e.occurredAt, e.payload) FROM MenuEvent e ";
+
+    List<MenuEvent> findBySequenceIsNullOrderByIdAsc(Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0L) FROM MenuEvent e")
+    long findMaxSequence();
+
+    @Query(SELECT_RESPONSE + "WHERE e.sequence > :after ORDER BY e.sequence")
+    List<MenuEventResponse> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE e.restaurantId = :restaurantId AND e.sequence > :after ORDER BY e.sequence")
+    List<MenuEventResponse> findPublishedAfterForRestaurant(
+        @Param("restaurantId") Long restaurantId,
+        @Param("after") long after,
+        Limit limit
+    );
+}
@@ -0,0 +1,30 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.entity.MenuEventSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MenuEventSequenceRepository extends JpaRepository<MenuEventSequence, Integer> {
+
+    /** The stream's sequence row, locked until the caller's transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MenuEventSequence s WHERE s.id = " + MenuEventSequence.ID)
+    Optional<MenuEventSequence> lock();
+
+    /**
+     * Creates the sequence row, continuing after {@code lastSequence}; a no-op when another relay
+     * got there first.
+     */
+    @Modifying
+    @Query("INSERT INTO MenuEventSequence (id, lastSequence) VALUES (" + MenuEventSequence.ID + ", :lastSequence) "
+        + "ON CONFLICT DO NOTHING")
+    void createIfAbsent(@Param("lastSequence") long lastSequence);
+}
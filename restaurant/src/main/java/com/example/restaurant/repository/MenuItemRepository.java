@@ -1,48 +1,216 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.model.dto.MenuItemResponse;
 import com.example.restaurant.model.entity.MenuItem;
 import com.example.restaurant.model.enums.Category;
 import com.example.restaurant.model.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.deleted = false")
-    Page<MenuItem> findByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+    /**
+     * Read-side select list: projects straight into {@link MenuItemResponse} with the restaurant
+     * name joined in the same statement, so listings never hydrate managed entities.
+     */
+    String SELECT_RESPONSE = "SELECT new com.example.restaurant.model.dto.MenuItemResponse("
+        + "m.id, m.name, m.price, m.category, m.status, r.id, r.name, m.version) FROM MenuItem m JOIN m.restaurant r ";
 
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.deleted = false")
-    Page<MenuItem> findByRestaurantIdAndCategory(
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /** Select list for bulk status changes: id, category, current status and price, nothing else. */
+    String SELECT_STATUS_VIEW = "SELECT new com.example.restaurant.repository.MenuItemStatusView("
+        + "m.id, m.category, m.status, m.price) FROM MenuItem m ";
+
+    @Query(value = SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.deleted = false",
+        countQuery = "SELECT COUNT(m) FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.deleted = false")
+    Page<MenuItemResponse> findByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.deleted = false",
+        countQuery = "SELECT COUNT(m) FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.deleted = false")
+    Page<MenuItemResponse> findByRestaurantIdAndCategory(
         @Param("restaurantId") Long restaurantId,
         @Param("category") Category category,
         Pageable pageable
     );
 
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.status = :status AND m.deleted = false")
-    Page<MenuItem> findByRestaurantIdAndStatus(
+    @Query(value = SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.status = :status AND m.deleted = false",
+        countQuery = "SELECT COUNT(m) FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.status = :status AND m.deleted = false")
+    Page<MenuItemResponse> findByRestaurantIdAndStatus(
         @Param("restaurantId") Long restaurantId,
         @Param("status") Status status,
         Pageable pageable
     );
 
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.status = :status AND m.deleted = false")
-    Page<MenuItem> findByRestaurantIdAndCategoryAndStatus(
+    @Query(value = SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.status = :status AND m.deleted = false",
+        countQuery = "SELECT COUNT(m) FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.status = :status AND m.deleted = false")
+    Page<MenuItemResponse> findByRestaurantIdAndCategoryAndStatus(
         @Param("restaurantId") Long restaurantId,
         @Param("category") Category category,
         @Param("status") Status status,
         Pageable pageable
     );
 
+    /**
+     * Keyset pages bypass the listing cache, so they go through Hibernate's query cache instead:
+     * results are reused until the next write to {@code menu_items} or {@code restaurants}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.deleted = false AND m.id > :afterId ORDER BY m.id")
+    List<MenuItemResponse> findByRestaurantIdAfter(
+        @Param("restaurantId") Long restaurantId,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.deleted = false AND m.id > :afterId ORDER BY m.id")
+    List<MenuItemResponse> findByRestaurantIdAndCategoryAfter(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.status = :status AND m.deleted = false AND m.id > :afterId ORDER BY m.id")
+    List<MenuItemResponse> findByRestaurantIdAndStatusAfter(
+        @Param("restaurantId") Long restaurantId,
+        @Param("status") Status status,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.status = :status AND m.deleted = false AND m.id > :afterId ORDER BY m.id")
+    List<MenuItemResponse> findByRestaurantIdAndCategoryAndStatusAfter(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("status") Status status,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @Query(SELECT_RESPONSE + "WHERE m.deleted = false AND m.id > :afterId ORDER BY m.id")
+    List<MenuItemResponse> findAllAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Forward-only export cursors: rows are fetched from the driver {@value #EXPORT_FETCH_SIZE} at
+     * a time and projected into unmanaged DTOs, so nothing accumulates in the persistence context.
+     * Must be consumed, and closed, inside a read-only transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE + "WHERE m.deleted = false ORDER BY m.id")
+    Stream<MenuItemResponse> streamAll();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE + "WHERE m.restaurant.id = :restaurantId AND m.deleted = false ORDER BY m.id")
+    Stream<MenuItemResponse> streamByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query(SELECT_RESPONSE + "WHERE m.id = :id AND m.deleted = false")
+    Optional<MenuItemResponse> findResponseById(@Param("id") Long id);
+
+    /** Owning restaurant of an item, deleted or not; an item never moves to another restaurant. */
+    @Query("SELECT m.restaurant.id FROM MenuItem m WHERE m.id = :id")
+    Optional<Long> findRestaurantIdById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "WHERE m.id IN :ids AND m.deleted = false")
+    List<MenuItemResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_STATUS_VIEW + "WHERE m.restaurant.id = :restaurantId AND m.id IN :ids AND m.deleted = false")
+    List<MenuItemStatusView> findStatusViewsByRestaurantIdAndIdIn(
+        @Param("restaurantId") Long restaurantId,
+        @Param("ids") Collection<Long> ids
+    );
+
+    @Query(SELECT_STATUS_VIEW + "WHERE m.restaurant.id = :restaurantId AND m.category = :category AND m.deleted = false")
+    List<MenuItemStatusView> findStatusViewsByRestaurantIdAndCategory(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category
+    );
+
+    /**
+     * Compare-and-set status change: only applies while the item is still at {@code version}, so
+     * the caller knows exactly which transition it made and nobody else's change is overwritten.
+     */
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.status = :status, m.version = m.version + 1 "
+        + "WHERE m.id = :id AND m.version = :version AND m.deleted = false")
+    int updateStatus(@Param("id") Long id, @Param("version") long version, @Param("status") Status status);
+
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.status = :status, m.version = m.version + 1 "
+        + "WHERE m.id IN :ids AND m.deleted = false")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
     @Query("SELECT m FROM MenuItem m WHERE m.id = :id AND m.deleted = false")
     Optional<MenuItem> findByIdAndNotDeleted(@Param("id") Long id);
 
     @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM MenuItem m WHERE m.name = :name AND m.restaurant.id = :restaurantId AND m.deleted = false")
     boolean existsByNameAndRestaurantId(@Param("name") String name, @Param("restaurantId") Long restaurantId);
+
+    /**
+     * Full recount of several restaurants' menus per category and status, for reconciling the
+     * materialized {@code menu_summaries}.
+     */
+    @Query("SELECT new com.example.restaurant.repository.MenuBucketStats(m.restaurant.id, m.category, m.status, "
+        + "COUNT(m), SUM(m.price), MIN(m.price), MAX(m.price)) "
+        + "FROM MenuItem m WHERE m.restaurant.id IN :restaurantIds AND m.deleted = false "
+        + "GROUP BY m.restaurant.id, m.category, m.status")
+    List<MenuBucketStats> countByRestaurantIdIn(@Param("restaurantIds") Collection<Long> restaurantIds);
+
+    @Query("SELECT m.name FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.name IN :names AND m.deleted = false")
+    List<String> findExistingNames(@Param("restaurantId") Long restaurantId, @Param("names") Collection<String> names);
+
+    /** Deleted items still holding one of {@code names} in the {@code (name, restaurant_id)} unique key. */
+    @Query("SELECT m.id FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.name IN :names AND m.deleted = true")
+    List<Long> findDeletedIdsByNameIn(@Param("restaurantId") Long restaurantId, @Param("names") Collection<String> names);
+
+    /** Deleted items past retention, oldest id first; rows deleted before deletion times were kept count as expired. */
+    @Query("SELECT m.id FROM MenuItem m WHERE m.deleted = true AND (m.deletedAt IS NULL OR m.deletedAt < :cutoff) ORDER BY m.id")
+    List<Long> findPurgeableIds(@Param("cutoff") Instant cutoff, Limit limit);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedMenuItem (id, restaurantId, name, price, category, status, version, deletedAt, archivedAt) "
+        + "SELECT m.id, m.restaurant.id, m.name, m.price, m.category, m.status, m.version, m.deletedAt, :archivedAt "
+        + "FROM MenuItem m WHERE m.id IN :ids AND m.deleted = true")
+    int copyDeletedToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM MenuItem m WHERE m.id IN :ids AND m.deleted = true")
+    int deleteDeletedByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves deleted items from the live table to {@code menu_items_archive} in the caller's
+     * transaction. Live items among {@code ids} are left alone.
+     */
+    default int archiveDeleted(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        copyDeletedToArchive(ids, Instant.now());
+        return deleteDeletedByIdIn(ids);
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+
+/**
+ * Just enough of a menu item to decide whether a bulk status change touches it, and to move it
+ * between menu summary buckets.
+ */
+public record MenuItemStatusView(Long id, Category category, Status status, double price) {
+}
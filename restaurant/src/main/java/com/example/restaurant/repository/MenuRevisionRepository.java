@@ -0,0 +1,31 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.entity.MenuRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MenuRevisionRepository extends JpaRepository<MenuRevision, Long> {
+
+    @Modifying
+    @Query("INSERT INTO MenuRevision (restaurantId, revision) VALUES (:restaurantId, 0)")
+    void create(@Param("restaurantId") Long restaurantId);
+
+    /** {@link #create} for a restaurant that may already have its row. */
+    @Modifying
+    @Query("INSERT INTO MenuRevision (restaurantId, revision) VALUES (:restaurantId, 0) ON CONFLICT DO NOTHING")
+    void createIfAbsent(@Param("restaurantId") Long restaurantId);
+
+    @Modifying
+    @Query("UPDATE MenuRevision mr SET mr.revision = mr.revision + 1 WHERE mr.restaurantId = :restaurantId")
+    int incrementRevision(@Param("restaurantId") Long restaurantId);
+
+    /** {@link #incrementRevision} only while the restaurant is still at {@code revision}. */
+    @Modifying
+    @Query("UPDATE MenuRevision mr SET mr.revision = mr.revision + 1 "
+        + "WHERE mr.restaurantId = :restaurantId AND mr.revision = :revision")
+    int incrementRevisionIfAt(@Param("restaurantId") Long restaurantId, @Param("revision") long revision);
+}
@@ -0,0 +1,102 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.entity.MenuSummary;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MenuSummaryRepository extends JpaRepository<MenuSummary, MenuSummary.Key> {
+
+    List<MenuSummary> findByRestaurantId(Long restaurantId);
+
+    List<MenuSummary> findByRestaurantIdIn(Collection<Long> restaurantIds);
+
+    /**
+     * Creates the empty buckets of a new restaurant, one per category and status, so menu writers
+     * only ever update existing rows and never race to insert the same bucket.
+     */
+    default void createBuckets(Long restaurantId) {
+        for (Category category : Category.values()) {
+            for (Status status : Status.values()) {
+                createBucket(restaurantId, category, status);
+            }
+        }
+    }
+
+    @Modifying
+    @Query("INSERT INTO MenuSummary (restaurantId, category, status, itemCount, priceSum) "
+        + "VALUES (:restaurantId, :category, :status, 0, 0)")
+    void createBucket(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("status") Status status
+    );
+
+    /** {@link #createBuckets} for a restaurant that may already have some of them. */
+    default void createBucketsIfAbsent(Long restaurantId) {
+        for (Category category : Category.values()) {
+            for (Status status : Status.values()) {
+                createBucketIfAbsent(restaurantId, category, status);
+            }
+        }
+    }
+
+    @Modifying
+    @Query("INSERT INTO MenuSummary (restaurantId, category, status, itemCount, priceSum) "
+        + "VALUES (:restaurantId, :category, :status, 0, 0) ON CONFLICT DO NOTHING")
+    void createBucketIfAbsent(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("status") Status status
+    );
+
+    /**
+     * Adds {@code count} items priced {@code priceMin..priceMax} summing to {@code priceSum} to a
+     * bucket. Returns 0 only when the bucket was never created.
+     */
+    @Modifying
+    @Query("UPDATE MenuSummary s SET s.itemCount = s.itemCount + :count, s.priceSum = s.priceSum + :priceSum, "
+        + "s.priceMin = CASE WHEN s.priceMin IS NULL OR s.priceMin > :priceMin THEN :priceMin ELSE s.priceMin END, "
+        + "s.priceMax = CASE WHEN s.priceMax IS NULL OR s.priceMax < :priceMax THEN :priceMax ELSE s.priceMax END "
+        + "WHERE s.restaurantId = :restaurantId AND s.category = :category AND s.status = :status")
+    int addItems(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("status") Status status,
+        @Param("count") long count,
+        @Param("priceSum") double priceSum,
+        @Param("priceMin") double priceMin,
+        @Param("priceMax") double priceMax
+    );
+
+    /**
+     * Takes {@code count} items summing to {@code priceSum} out of a bucket. The items must already
+     * have left it in {@code menu_items}, since its price range is re-read from the remaining ones.
+     */
+    @Modifying
+    @Query("UPDATE MenuSummary s SET s.itemCount = s.itemCount - :count, s.priceSum = s.priceSum - :priceSum, "
+        + "s.priceMin = (SELECT MIN(m.price) FROM MenuItem m WHERE m.restaurant.id = s.restaurantId "
+        + "AND m.deleted = false AND m.category = s.category AND m.status = s.status), "
+        + "s.priceMax = (SELECT MAX(m.price) FROM MenuItem m WHERE m.restaurant.id = s.restaurantId "
+        + "AND m.deleted = false AND m.category = s.category AND m.status = s.status) "
+        + "WHERE s.restaurantId = :restaurantId AND s.category = :category AND s.status = :status")
+    int removeItems(
+        @Param("restaurantId") Long restaurantId,
+        @Param("category") Category category,
+        @Param("status") Status status,
+        @Param("count") long count,
+        @Param("priceSum") double priceSum
+    );
+
+    @Modifying
+    @Query("DELETE FROM MenuSummary s WHERE s.restaurantId IN :restaurantIds")
+    int deleteByRestaurantIdIn(@Param("restaurantIds") Collection<Long> restaurantIds);
+}
@@ -0,0 +1,16 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.entity.Restaurant;
+
+import java.util.Optional;
+
+/**
+ * Name lookups resolved through Hibernate's natural-id API instead of a query, so a cached
+ * name-to-id resolution plus a cached row answers them without a database round trip.
+ */
+public interface RestaurantNaturalIdRepository {
+
+    Optional<Restaurant> findByName(String name);
+
+    boolean existsByName(String name);
+}
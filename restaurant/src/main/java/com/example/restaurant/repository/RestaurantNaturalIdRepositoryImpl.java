@@ -0,0 +1,28 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.entity.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class RestaurantNaturalIdRepositoryImpl implements RestaurantNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Restaurant> findByName(String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Restaurant.class)
+                .loadOptional(name);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return findByName(name).isPresent();
+    }
+}
@@ -1,15 +1,37 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.model.dto.RestaurantResponse;
 import com.example.restaurant.model.entity.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, RestaurantNaturalIdRepository {
 
-    Optional<Restaurant> findByName(String name);
+    /**
+     * Revision behind every menu ETag check; empty only for an unknown restaurant. Served from the
+     * query cache until the next menu change anywhere invalidates {@code menu_revisions}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COALESCE(mr.revision, 0L) FROM Restaurant r "
+        + "LEFT JOIN MenuRevision mr ON mr.restaurantId = r.id WHERE r.id = :id")
+    Optional<Long> findMenuRevisionById(@Param("id") Long id);
 
-    boolean existsByName(String name);
+    @Query("SELECT new com.example.restaurant.model.dto.RestaurantResponse("
+        + "r.id, r.name, r.location, r.isOpen, COALESCE(mr.revision, 0L), r.version) FROM Restaurant r "
+        + "LEFT JOIN MenuRevision mr ON mr.restaurantId = r.id WHERE r.id IN :ids")
+    List<RestaurantResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
 }
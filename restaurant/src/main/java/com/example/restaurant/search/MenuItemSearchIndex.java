@@ -0,0 +1,477 @@
+package com.example.restaurant.search;
+
+import com.example.restaurant.datasource.ReadYourWrites;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemSearchResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over live menu item names. Each query token matches index terms
+ * exactly, by prefix (two or more characters) or within one typo (four or more characters, via a
+ * single-deletion neighbourhood of alphabetic terms); an item matches when every query token does,
+ * and hits are ranked by match quality, then shorter names, then age.
+ *
+ * <p>Posting lists are kept globally and per restaurant, so a restaurant-scoped search only walks
+ * that restaurant's items. A search walks the rarest query token's postings best match quality
+ * first and stops after {@value #MAX_MATCHES} matches: up to that point {@code total} is exact and
+ * the ranking complete; beyond it the hits are the best of the first matches found.
+ *
+ * <p>The index is rebuilt from the database once the application is ready and then kept current
+ * by the menu item services, which apply their changes after the surrounding transaction commits.
+ * Reads share a lock; writes, which are rare, take it exclusively.
+ */
+@Component
+public class MenuItemSearchIndex implements MeterBinder {
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_MATCHES = 1000;
+    private static final int MIN_COMPACTION = 10_000;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(hit -> hit.entry().name().length())
+            .thenComparingInt(Hit::slot);
+
+    private final MenuItemRepository menuItemRepository;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+    private final Map<String, List<Term>> deletions = new HashMap<>();
+    private final Map<Long, Map<Integer, Postings>> restaurantPostings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private Entry[] entries = new Entry[1024];
+    private int slotCount;
+
+    public MenuItemSearchIndex(
+            MenuItemRepository menuItemRepository,
+            @Value("${menu.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+            @Value("${menu.search.rebuild-batch-size:10000}") int rebuildBatchSize) {
+        this.menuItemRepository = menuItemRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every live menu item in id order. Writers wait for the rebuild, so a change that
+     * commits meanwhile is applied on top of the reloaded state rather than lost. Reads the
+     * primary: a lagging replica would drop changes that no later event re-applies.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            ReadYourWrites.onPrimary(() -> {
+                long afterId = 0;
+                List<MenuItemResponse> batch;
+                do {
+                    batch = menuItemRepository.findAllAfter(afterId, Limit.of(rebuildBatchSize));
+                    batch.forEach(this::add);
+                    if (!batch.isEmpty()) {
+                        afterId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == rebuildBatchSize);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(MenuItemResponse item) {
+        indexAll(List.of(item));
+    }
+
+    public void indexAll(Collection<MenuItemResponse> items) {
+        List<MenuItemResponse> snapshot = List.copyOf(items);
+        afterCommit(() -> snapshot.forEach(this::upsert));
+    }
+
+    public void updateStatus(Collection<Long> ids, Status status) {
+        List<Long> snapshot = List.copyOf(ids);
+        afterCommit(() -> {
+            for (Long id : snapshot) {
+                Integer slot = slotsById.get(id);
+                if (slot != null) {
+                    entries[slot] = entries[slot].withStatus(status);
+                }
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                entries[slot] = null;
+                compactIfSparse();
+            }
+        });
+    }
+
+    public MenuItemSearchResponse search(String query, Long restaurantId, Category category, Status status,
+                                         int limit) {
+        List<String> tokens = List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        List<MenuItemResponse> content = new ArrayList<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            Map<Integer, Postings> scope = restaurantId == null ? null : restaurantPostings.get(restaurantId);
+            boolean searchable = restaurantId == null || scope != null;
+            List<TokenMatch> matches = new ArrayList<>(tokens.size());
+            for (String token : searchable ? tokens : List.<String>of()) {
+                TokenMatch match = match(token, scope);
+                if (match.postings() == 0) {
+                    matches.clear();
+                    break;
+                }
+                matches.add(match);
+            }
+
+            if (!matches.isEmpty()) {
+                TokenMatch driver = matches.stream().min(Comparator.comparingLong(TokenMatch::postings)).orElseThrow();
+                PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+                Set<Integer> matched = driver.terms().length > 1 ? new HashSet<>() : null;
+                scan:
+                for (Term term : driver.termsByQuality()) {
+                    Postings postings = scope == null ? term.postings : scope.get(term.id);
+                    if (postings == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < postings.size; i++) {
+                        int slot = postings.slots[i];
+                        Entry entry = entries[slot];
+                        if (entry == null
+                                || (category != null && entry.category() != category)
+                                || (status != null && entry.status() != status)) {
+                            continue;
+                        }
+                        int score = score(entry, matches);
+                        if (score == 0 || (matched != null && !matched.add(slot))) {
+                            continue;
+                        }
+                        top.offer(new Hit(entry, slot, score));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                        if (++total == MAX_MATCHES) {
+                            break scan;
+                        }
+                    }
+                }
+                top.stream().sorted(RANKING).map(hit -> hit.entry().toResponse()).forEach(content::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return MenuItemSearchResponse.builder()
+                .query(query)
+                .total(total)
+                .totalExact(total < MAX_MATCHES)
+                .content(content)
+                .build();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("menu.search.index.documents", this, MenuItemSearchIndex::size)
+                .description("Live menu items in the search index")
+                .register(registry);
+        Gauge.builder("menu.search.index.terms", this, index -> index.termCount())
+                .description("Distinct terms in the search index")
+                .register(registry);
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    private TokenMatch match(String token, Map<Integer, Postings> scope) {
+        Map<Term, Integer> qualities = new HashMap<>();
+        Term exact = terms.get(token);
+        if (exact != null) {
+            qualities.put(exact, EXACT);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            terms.subMap(token, false, token + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(term -> qualities.putIfAbsent(term, PREFIX));
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (String variant : deletionNeighbourhood(token)) {
+                for (Term candidate : deletions.getOrDefault(variant, List.of())) {
+                    if (!qualities.containsKey(candidate) && Tokenizer.distance(token, candidate.text, 1) <= 1) {
+                        qualities.put(candidate, FUZZY);
+                    }
+                }
+            }
+        }
+
+        Term[] matched = qualities.keySet().stream().sorted(Comparator.comparingInt(term -> term.id)).toArray(Term[]::new);
+        int[] termIds = new int[matched.length];
+        int[] scores = new int[matched.length];
+        long postings = 0;
+        for (int i = 0; i < matched.length; i++) {
+            termIds[i] = matched[i].id;
+            scores[i] = qualities.get(matched[i]);
+            Postings scoped = scope == null ? matched[i].postings : scope.get(matched[i].id);
+            postings += scoped == null ? 0 : scoped.size;
+        }
+        Term[] byQuality = Arrays.stream(matched)
+                .sorted(Comparator.comparingInt((Term term) -> qualities.get(term)).reversed())
+                .toArray(Term[]::new);
+        return new TokenMatch(matched, byQuality, termIds, scores, postings);
+    }
+
+    private static int score(Entry entry, List<TokenMatch> matches) {
+        int score = 0;
+        for (TokenMatch match : matches) {
+            int best = 0;
+            for (int termId : entry.termIds()) {
+                best = Math.max(best, match.quality(termId));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private void upsert(MenuItemResponse item) {
+        Integer slot = slotsById.get(item.getId());
+        if (slot != null) {
+            Entry existing = entries[slot];
+            if (existing.isNewerThan(item)) {
+                return;
+            }
+            if (existing.name().equals(item.getName())) {
+                entries[slot] = Entry.of(item, existing.termIds());
+                return;
+            }
+            slotsById.remove(item.getId());
+            entries[slot] = null;
+        }
+        add(item);
+        compactIfSparse();
+    }
+
+    private void add(MenuItemResponse item) {
+        if (slotCount == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int slot = slotCount++;
+        int[] termIds = Tokenizer.tokenize(item.getName()).stream()
+                .distinct()
+                .mapToInt(token -> {
+                    Term term = terms.computeIfAbsent(token, this::newTerm);
+                    term.postings.add(slot);
+                    restaurantPostings.computeIfAbsent(item.getRestaurantId(), id -> new HashMap<>())
+                            .computeIfAbsent(term.id, id -> new Postings())
+                            .add(slot);
+                    return term.id;
+                })
+                .toArray();
+        entries[slot] = Entry.of(item, termIds);
+        slotsById.put(item.getId(), slot);
+    }
+
+    private Term newTerm(String text) {
+        Term term = new Term(terms.size(), text);
+        if (text.length() >= MIN_FUZZY_LENGTH - 1 && text.chars().allMatch(Character::isLetter)) {
+            for (String variant : deletionNeighbourhood(text)) {
+                deletions.computeIfAbsent(variant, key -> new ArrayList<>(1)).add(term);
+            }
+        }
+        return term;
+    }
+
+    /**
+     * Removed items leave dead slots behind in the posting lists; once they outnumber the live
+     * ones, re-add the live items into fresh structures.
+     */
+    private void compactIfSparse() {
+        int dead = slotCount - slotsById.size();
+        if (dead < MIN_COMPACTION || dead < slotsById.size()) {
+            return;
+        }
+        List<MenuItemResponse> live = new ArrayList<>(slotsById.size());
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (entries[slot] != null) {
+                live.add(entries[slot].toResponse());
+            }
+        }
+        clear();
+        live.forEach(this::add);
+    }
+
+    private void clear() {
+        terms.clear();
+        deletions.clear();
+        restaurantPostings.clear();
+        slotsById.clear();
+        entries = new Entry[1024];
+        slotCount = 0;
+    }
+
+    /** The string itself plus every variant with one character deleted. */
+    private static List<String> deletionNeighbourhood(String text) {
+        List<String> variants = new ArrayList<>(text.length() + 1);
+        variants.add(text);
+        for (int i = 0; i < text.length(); i++) {
+            String variant = text.substring(0, i) + text.substring(i + 1);
+            if (!variant.equals(variants.get(variants.size() - 1))) {
+                variants.add(variant);
+            }
+        }
+        return variants;
+    }
+
+    private static final class Term {
+
+        private final int id;
+        private final String text;
+        private final Postings postings = new Postings();
+
+        private Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    /** Append-only list of entry slots, in indexing order. */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    /**
+     * The index terms one query token matched, sorted by term id for lookups and by match quality
+     * for scanning, with the number of postings they cover in the searched scope.
+     */
+    private record TokenMatch(Term[] terms, Term[] termsByQuality, int[] termIds, int[] qualities, long postings) {
+
+        int quality(int termId) {
+            int index = Arrays.binarySearch(termIds, termId);
+            return index >= 0 ? qualities[index] : 0;
+        }
+    }
+
+    private record Entry(long id, String name, Double price, Category category, Status status,
+                         Long restaurantId, String restaurantName, Long version, int[] termIds) {
+
+        static Entry of(MenuItemResponse item, int[] termIds) {
+            return new Entry(item.getId(), item.getName(), item.getPrice(), item.getCategory(), item.getStatus(),
+                    item.getRestaurantId(), item.getRestaurantName(), item.getVersion(), termIds);
+        }
+
+        /** The bulk status UPDATE moves every row it changes one version on, and so does this. */
+        Entry withStatus(Status newStatus) {
+            return new Entry(id, name, price, category, newStatus, restaurantId, restaurantName,
+                    version == null ? null : version + 1, termIds);
+        }
+
+        /** Whether {@code item} is older than this entry, i.e. its commit was applied out of order. */
+        boolean isNewerThan(MenuItemResponse item) {
+            return version != null && item.getVersion() != null && version > item.getVersion();
+        }
+
+        MenuItemResponse toResponse() {
+            return MenuItemResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .price(price)
+                    .category(category)
+                    .status(status)
+                    .restaurantId(restaurantId)
+                    .restaurantName(restaurantName)
+                    .version(version)
+                    .build();
+        }
+    }
+
+    private record Hit(Entry entry, int slot, int score) {
+    }
+}
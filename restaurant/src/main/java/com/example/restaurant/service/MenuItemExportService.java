@@ -0,0 +1,94 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.ExportFormat;
+import com.example.restaurant.repository.MenuItemRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full-menu export: streams every live menu item straight from a forward-only cursor to the
+ * response, so memory use does not depend on the number of rows. Runs in one read-only
+ * transaction, which holds a connection for the duration of the export.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class MenuItemExportService {
+    
+    static final String CSV_HEADER = "id,name,price,category,status,restaurantId,restaurantName";
+    
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Writes the live menu items of one restaurant, or of all restaurants when
+     * {@code restaurantId} is null, ordered by id. Returns the number of items written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long restaurantId, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        long count = 0;
+        try (Stream<MenuItemResponse> items = restaurantId == null
+                ? menuItemRepository.streamAll()
+                : menuItemRepository.streamByRestaurantId(restaurantId)) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<MenuItemResponse> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                MenuItemResponse item = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, item);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(item));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+    
+    private static void writeCsv(Writer writer, MenuItemResponse item) throws IOException {
+        writer.write(String.valueOf(item.getId()));
+        writer.write(',');
+        writer.write(csv(item.getName()));
+        writer.write(',');
+        writer.write(String.valueOf(item.getPrice()));
+        writer.write(',');
+        writer.write(item.getCategory().name());
+        writer.write(',');
+        writer.write(item.getStatus().name());
+        writer.write(',');
+        writer.write(String.valueOf(item.getRestaurantId()));
+        writer.write(',');
+        writer.write(csv(item.getRestaurantName()));
+        writer.write('\n');
+    }
+    
+    /** RFC 4180 quoting: only fields containing a comma, quote or line break are quoted. */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.event.MenuEventPublisher;
+import com.example.restaurant.exception.RestaurantClosedException;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemImportResponse;
+import com.example.restaurant.model.dto.MenuItemImportResult;
+import com.example.restaurant.model.entity.MenuItem;
+import com.example.restaurant.model.entity.Restaurant;
+import com.example.restaurant.model.enums.ImportStatus;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import com.example.restaurant.search.MenuItemSearchIndex;
+import com.example.restaurant.snapshot.MenuSnapshots;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk menu onboarding. Rows are processed in chunks of {@code menu.import.batch-size}: each chunk
+ * is validated, checked for duplicates with a single IN query, inserted as JDBC batches together
+ * with its outbox events and then flushed and cleared so the persistence context never grows with
+ * the size of the import.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class MenuItemImportService {
+
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantService restaurantService;
+    private final MenuItemCache menuItemCache;
+    private final MenuItemSearchIndex menuItemSearchIndex;
+    private final MenuEventPublisher menuEventPublisher;
+    private final MenuSummaryService menuSummaryService;
+    private final MenuSnapshots menuSnapshots;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${menu.import.batch-size:100}")
+    private int batchSize;
+
+    @Transactional
+    public MenuItemImportResponse importMenuItems(Long restaurantId, List<CreateMenuItemRequest> requests) {
+        return importRows(restaurantId, requests.stream().map(ParsedRow::of).iterator());
+    }
+
+    @Transactional
+    public MenuItemImportResponse importMenuItems(Long restaurantId, InputStream ndjson) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        return importRows(restaurantId, reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::parseLine)
+                .iterator());
+    }
+
+    private MenuItemImportResponse importRows(Long restaurantId, Iterator<ParsedRow> rows) {
+        Restaurant restaurant = restaurantService.getRestaurantEntityById(restaurantId);
+        if (!restaurant.isOpen()) {
+            throw new RestaurantClosedException("Cannot add menu items to a closed restaurant");
+        }
+
+        List<MenuItemImportResult> results = new ArrayList<>();
+        Set<String> seenNames = new HashSet<>();
+        List<ParsedRow> chunk = new ArrayList<>(batchSize);
+        int rowNumber = 0;
+        while (rows.hasNext()) {
+            chunk.add(rows.next().withRow(rowNumber++));
+            if (chunk.size() == batchSize) {
+                importChunk(restaurant, chunk, seenNames, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(restaurant, chunk, seenNames, results);
+        }
+
+        int created = (int) results.stream().filter(r -> r.getStatus() == ImportStatus.CREATED).count();
+        if (created > 0) {
+            restaurantService.incrementMenuRevision(restaurantId);
+            menuItemCache.evictRestaurant(restaurantId);
+            menuSnapshots.refresh(restaurantId);
+        }
+        return MenuItemImportResponse.builder()
+                .restaurantId(restaurantId)
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private void importChunk(Restaurant restaurant, List<ParsedRow> chunk, Set<String> seenNames,
+                             List<MenuItemImportResult> results) {
+        Long restaurantId = restaurant.getId();
+        List<MenuItemImportResult> chunkResults = new ArrayList<>(chunk.size());
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ParsedRow row = chunk.get(i);
+            MenuItemImportResult result = MenuItemImportResult.builder()
+                    .row(row.row())
+                    .name(row.request() != null ? row.request().getName() : null)
+                    .build();
+            chunkResults.add(result);
+
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                result.setStatus(ImportStatus.INVALID);
+                result.setMessage(error);
+            } else if (!seenNames.add(row.request().getName())) {
+                result.setStatus(ImportStatus.DUPLICATE);
+                result.setMessage("Menu item name is repeated within the import");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        List<String> candidateNames = candidates.stream().map(i -> chunk.get(i).request().getName()).toList();
+        Set<String> existingNames = candidates.isEmpty() ? Set.of() : new HashSet<>(
+                menuItemRepository.findExistingNames(restaurantId, candidateNames));
+        if (!candidates.isEmpty()) {
+            menuItemRepository.archiveDeleted(menuItemRepository.findDeletedIdsByNameIn(restaurantId, candidateNames));
+        }
+
+        Restaurant reference = entityManager.getReference(Restaurant.class, restaurantId);
+        List<MenuItem> menuItems = new ArrayList<>(candidates.size());
+        List<MenuItemImportResult> createdResults = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            MenuItemImportResult result = chunkResults.get(i);
+            CreateMenuItemRequest request = chunk.get(i).request();
+            if (existingNames.contains(request.getName())) {
+                result.setStatus(ImportStatus.DUPLICATE);
+                result.setMessage("Menu item with name '" + request.getName() + "' already exists for this restaurant");
+                continue;
+            }
+            MenuItem menuItem = new MenuItem();
+            menuItem.setName(request.getName());
+            menuItem.setPrice(request.getPrice());
+            menuItem.setCategory(request.getCategory());
+            menuItem.setStatus(Status.AVAILABLE);
+            menuItem.setRestaurant(reference);
+            menuItem.setDeleted(false);
+            menuItems.add(menuItem);
+            createdResults.add(result);
+        }
+
+        if (!menuItems.isEmpty()) {
+            menuItemRepository.saveAll(menuItems);
+            List<MenuItemResponse> created = new ArrayList<>(menuItems.size());
+            for (int i = 0; i < menuItems.size(); i++) {
+                MenuItem menuItem = menuItems.get(i);
+                createdResults.get(i).setStatus(ImportStatus.CREATED);
+                createdResults.get(i).setId(menuItem.getId());
+                created.add(MenuItemResponse.builder()
+                        .id(menuItem.getId())
+                        .name(menuItem.getName())
+                        .price(menuItem.getPrice())
+                        .category(menuItem.getCategory())
+                        .status(menuItem.getStatus())
+                        .restaurantId(restaurantId)
+                        .restaurantName(restaurant.getName())
+                        .version(menuItem.getVersion())
+                        .build());
+            }
+            menuSummaryService.itemsAdded(restaurantId, created);
+            menuItemSearchIndex.indexAll(created);
+            menuEventPublisher.menuItemsCreated(created);
+            // one flush for the chunk's items and their outbox rows; clear() would drop unflushed inserts
+            entityManager.flush();
+        }
+        entityManager.clear();
+        results.addAll(chunkResults);
+    }
+
+    private String validate(CreateMenuItemRequest request) {
+        Set<ConstraintViolation<CreateMenuItemRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private ParsedRow parseLine(String line) {
+        try {
+            return ParsedRow.of(objectMapper.readValue(line, CreateMenuItemRequest.class));
+        } catch (JacksonException ex) {
+            return new ParsedRow(0, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private record ParsedRow(int row, CreateMenuItemRequest request, String error) {
+
+        static ParsedRow of(CreateMenuItemRequest request) {
+            return request == null
+                    ? new ParsedRow(0, null, "Row must not be null")
+                    : new ParsedRow(0, request, null);
+        }
+
+        ParsedRow withRow(int row) {
+            return new ParsedRow(row, request, error);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuItemPurgeResponse;
+import com.example.restaurant.repository.MenuItemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically moves soft-deleted menu items older than {@code menu.purge.retention} from
+ * {@code menu_items} to {@code menu_items_archive}, so the live table and its indexes only grow
+ * with active items. Rows go {@code menu.purge.batch-size} at a time, each batch in its own short
+ * transaction, with {@code menu.purge.batch-pause} between batches to leave the database to
+ * request traffic. Deleted items are already gone from listings, summaries, the search index and
+ * the event stream, so nothing else changes when they move.
+ */
+@Component
+public class MenuItemPurger implements MeterBinder {
+
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+
+    public MenuItemPurger(
+            MenuItemRepository menuItemRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${menu.purge.retention:7d}") Duration retention,
+            @Value("${menu.purge.batch-size:500}") int batchSize,
+            @Value("${menu.purge.batch-pause:100ms}") Duration batchPause) {
+        this.menuItemRepository = menuItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+    }
+
+    @Scheduled(initialDelayString = "${menu.purge.initial-delay:5m}",
+            fixedDelayString = "${menu.purge.interval:1h}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    public synchronized MenuItemPurgeResponse purge() {
+        long started = System.nanoTime();
+        Instant cutoff = Instant.now().minus(retention);
+        long purgedNow = 0;
+        long batches = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(tx -> purgeBatch(cutoff));
+            if (moved > 0) {
+                purgedNow += moved;
+                batches++;
+            }
+        } while (moved == batchSize && pause());
+        long elapsed = System.nanoTime() - started;
+        purged.addAndGet(purgedNow);
+        runs.incrementAndGet();
+        runNanos.addAndGet(elapsed);
+        return MenuItemPurgeResponse.builder()
+                .rowsPurged(purgedNow)
+                .batches(batches)
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("menu.purge.rows", purged, AtomicLong::get)
+                .description("Deleted menu items moved to the archive table")
+                .register(registry);
+        FunctionTimer.builder("menu.purge.runs", this, purger -> purger.runs.get(),
+                        purger -> purger.runNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Purge runs and the time they took, pauses included")
+                .register(registry);
+    }
+
+    private int purgeBatch(Instant cutoff) {
+        List<Long> ids = menuItemRepository.findPurgeableIds(cutoff, Limit.of(batchSize));
+        return menuItemRepository.archiveDeleted(ids);
+    }
+
+    /** Waits between batches; an interrupt ends the run early, the rest is picked up next time. */
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuItemSearchResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.search.MenuItemSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class MenuItemSearchService {
+    
+    private final MenuItemSearchIndex menuItemSearchIndex;
+    private final RestaurantService restaurantService;
+    
+    public MenuItemSearchResponse search(String query, Category category, Status status, int limit) {
+        return menuItemSearchIndex.search(query, null, category, status, limit);
+    }
+    
+    public MenuItemSearchResponse searchRestaurant(
+            Long restaurantId,
+            String query,
+            Category category,
+            Status status,
+            int limit) {
+        MenuItemSearchResponse response = menuItemSearchIndex.search(query, restaurantId, category, status, limit);
+        if (response.getTotal() == 0) {
+            restaurantService.ensureRestaurantExists(restaurantId);
+        }
+        return response;
+    }
+}
@@ -1,28 +1,83 @@
 package com.example.restaurant.service;
 
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.event.MenuEventPublisher;
 import com.example.restaurant.exception.DuplicateResourceException;
+import com.example.restaurant.exception.PreconditionFailedException;
 import com.example.restaurant.exception.ResourceNotFoundException;
 import com.example.restaurant.exception.RestaurantClosedException;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusResponse;
+import com.example.restaurant.model.dto.CompactMenuResponse;
 import com.example.restaurant.model.dto.CreateMenuItemRequest;
 import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemSliceResponse;
 import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
 import com.example.restaurant.model.entity.MenuItem;
 import com.example.restaurant.model.entity.Restaurant;
 import com.example.restaurant.model.enums.Category;
 import com.example.restaurant.model.enums.Status;
 import com.example.restaurant.repository.MenuItemRepository;
+import com.example.restaurant.repository.MenuItemStatusView;
+import com.example.restaurant.search.MenuItemSearchIndex;
+import com.example.restaurant.snapshot.MenuSnapshots;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
 public class MenuItemService {
     
     private final MenuItemRepository menuItemRepository;
     private final RestaurantService restaurantService;
+    private final MenuItemCache menuItemCache;
+    private final MenuItemSearchIndex menuItemSearchIndex;
+    private final MenuEventPublisher menuEventPublisher;
+    private final MenuSummaryService menuSummaryService;
+    private final MenuReadFlights menuReadFlights;
+    private final MenuSnapshots menuSnapshots;
+    private final MenuItemStatusBuffer menuItemStatusBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    
+    /** Keeps each bulk UPDATE's IN list within what every supported database accepts. */
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+    
+    /** Tries a single-item status change gets before a lost race is reported; 1 disables retrying. */
+    @Value("${menu.concurrency.status-update-attempts:3}")
+    private int statusUpdateAttempts;
+    
+    @PostConstruct
+    void startStatusBuffer() {
+        menuItemStatusBuffer.start(this::flushBufferedStatuses);
+    }
+    
+    @PreDestroy
+    void stopStatusBuffer() throws InterruptedException {
+        menuItemStatusBuffer.stop();
+    }
     
     @Transactional
     public MenuItemResponse addMenuItem(Long restaurantId, CreateMenuItemRequest request) {
@@ -37,6 +92,9 @@ public class MenuItemService {
                 "Menu item with name '" + request.getName() + "' already exists for this restaurant"
             );
         }
+        // a deleted item with the same name still holds it in the unique key until it is archived
+        menuItemRepository.archiveDeleted(
+                menuItemRepository.findDeletedIdsByNameIn(restaurantId, List.of(request.getName())));
         MenuItem menuItem = new MenuItem();
         menuItem.setName(request.getName());
         menuItem.setPrice(request.getPrice());
@@ -46,19 +104,54 @@ public class MenuItemService {
         menuItem.setDeleted(false);
         
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        onMenuChanged(restaurantId);
         
-        return mapToResponse(savedMenuItem);
+        MenuItemResponse response = mapToResponse(savedMenuItem);
+        menuSummaryService.itemsAdded(restaurantId, List.of(response));
+        menuItemSearchIndex.index(response);
+        menuEventPublisher.menuItemCreated(response);
+        return response;
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Offset listing, answered from the columnar menu snapshot when that is enabled, otherwise
+     * from the listing cache and, on a miss, one shared read-only query. Buffered status changes
+     * are applied on top; a status filter has to find them in the rows it selects, so it waits
+     * for the restaurant's pending changes to be written first.
+     */
     public Page<MenuItemResponse> getMenuItems(
             Long restaurantId,
             Category category,
             Status status,
             Pageable pageable) {
-        restaurantService.getRestaurantEntityById(restaurantId);
+        if (status != null) {
+            menuItemStatusBuffer.awaitRestaurant(restaurantId);
+        }
+        Page<MenuItemResponse> page = findMenuItems(restaurantId, category, status, pageable);
+        List<MenuItemResponse> content = menuItemStatusBuffer.overlay(page.getContent());
+        return content == page.getContent() ? page : new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+    
+    private Page<MenuItemResponse> findMenuItems(
+            Long restaurantId,
+            Category category,
+            Status status,
+            Pageable pageable) {
+        Optional<Page<MenuItemResponse>> snapshot = menuSnapshots.findPage(restaurantId, category, status, pageable);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+        MenuItemCache.Key key = MenuItemCache.Key.of(restaurantId, category, status, pageable);
+        return menuItemCache.get(key, () -> menuReadFlights.listing(key, () -> readOnlyTransactionTemplate.execute(
+            tx -> loadMenuItems(restaurantId, category, status, pageable))));
+    }
 
-        Page<MenuItem> menuItems;
+    private Page<MenuItemResponse> loadMenuItems(
+            Long restaurantId,
+            Category category,
+            Status status,
+            Pageable pageable) {
+        Page<MenuItemResponse> menuItems;
         if (category != null && status != null) {
             menuItems = menuItemRepository.findByRestaurantIdAndCategoryAndStatus(
                 restaurantId, category, status, pageable);
@@ -72,17 +165,277 @@ public class MenuItemService {
             menuItems = menuItemRepository.findByRestaurantId(restaurantId, pageable);
         }
 
-        return menuItems.map(this::mapToResponse);
+        if (menuItems.isEmpty()) {
+            restaurantService.ensureRestaurantExists(restaurantId);
+        }
+        return menuItems;
+    }
+    
+    /**
+     * Keyset variant of {@link #getMenuItems}: seeks past the id in the cursor instead of
+     * skipping rows and never counts, so every page costs the same as the first one. Identical
+     * concurrent calls share one query, which opens its own read-only transaction. Buffered
+     * status changes are handled as in {@link #getMenuItems}.
+     */
+    public MenuItemSliceResponse scrollMenuItems(
+            Long restaurantId,
+            Category category,
+            Status status,
+            String after,
+            int size) {
+        long afterId = MenuItemCursor.decode(after);
+        if (status != null) {
+            menuItemStatusBuffer.awaitRestaurant(restaurantId);
+        }
+        MenuItemSliceResponse slice = menuReadFlights.scroll(restaurantId, category, status, afterId, size,
+            () -> readOnlyTransactionTemplate.execute(tx -> loadSlice(restaurantId, category, status, afterId, size)));
+        List<MenuItemResponse> content = menuItemStatusBuffer.overlay(slice.getContent());
+        return content == slice.getContent() ? slice : MenuItemSliceResponse.builder()
+                .content(content)
+                .size(slice.getSize())
+                .hasNext(slice.isHasNext())
+                .nextCursor(slice.getNextCursor())
+                .build();
+    }
+
+    private MenuItemSliceResponse loadSlice(
+            Long restaurantId,
+            Category category,
+            Status status,
+            long afterId,
+            int size) {
+        Limit limit = Limit.of(size + 1);
+        List<MenuItemResponse> menuItems;
+        if (category != null && status != null) {
+            menuItems = menuItemRepository.findByRestaurantIdAndCategoryAndStatusAfter(
+                restaurantId, category, status, afterId, limit);
+        } else if (category != null) {
+            menuItems = menuItemRepository.findByRestaurantIdAndCategoryAfter(
+                restaurantId, category, afterId, limit);
+        } else if (status != null) {
+            menuItems = menuItemRepository.findByRestaurantIdAndStatusAfter(
+                restaurantId, status, afterId, limit);
+        } else {
+            menuItems = menuItemRepository.findByRestaurantIdAfter(restaurantId, afterId, limit);
+        }
+
+        if (menuItems.isEmpty()) {
+            restaurantService.ensureRestaurantExists(restaurantId);
+        }
+
+        boolean hasNext = menuItems.size() > size;
+        List<MenuItemResponse> content = hasNext ? menuItems.subList(0, size) : menuItems;
+        return MenuItemSliceResponse.builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? MenuItemCursor.encode(content.get(size - 1).getId()) : null)
+                .build();
+    }
+
+    /**
+     * {@link #getMenuItems} in the compact representation, built from the same cached page.
+     */
+    public CompactMenuResponse getCompactMenuItems(
+            Long restaurantId,
+            Category category,
+            Status status,
+            Pageable pageable) {
+        Page<MenuItemResponse> page = getMenuItems(restaurantId, category, status, pageable);
+        return toCompact(restaurantId, page.getContent())
+                .total(page.getTotalElements())
+                .build();
+    }
+
+    /**
+     * {@link #scrollMenuItems} in the compact representation.
+     */
+    public CompactMenuResponse scrollCompactMenuItems(
+            Long restaurantId,
+            Category category,
+            Status status,
+            String after,
+            int size) {
+        MenuItemSliceResponse slice = scrollMenuItems(restaurantId, category, status, after, size);
+        return toCompact(restaurantId, slice.getContent())
+                .next(slice.getNextCursor())
+                .build();
+    }
+
+    private static CompactMenuResponse.CompactMenuResponseBuilder toCompact(Long restaurantId, List<MenuItemResponse> menuItems) {
+        List<CompactMenuResponse.Item> items = new ArrayList<>(menuItems.size());
+        for (MenuItemResponse menuItem : menuItems) {
+            items.add(new CompactMenuResponse.Item(menuItem.getId(), menuItem.getName(), menuItem.getPrice(),
+                    menuItem.getCategory().getCode(), menuItem.getStatus().getCode()));
+        }
+        return CompactMenuResponse.builder()
+                .restaurantId(restaurantId)
+                .restaurantName(menuItems.isEmpty() ? null : menuItems.get(0).getRestaurantName())
+                .items(items);
     }
     
     @Transactional
     public MenuItemResponse updateMenuItemStatus(Long menuItemId, UpdateMenuItemStatusRequest request) {
-        MenuItem menuItem = menuItemRepository.findByIdAndNotDeleted(menuItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + menuItemId));
-        menuItem.setStatus(request.getStatus());
-        MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        return updateMenuItemStatus(menuItemId, request, null);
+    }
+    
+    /**
+     * Reads the item through the listing projection, then applies a targeted compare-and-set
+     * {@code UPDATE ... SET status} on its version instead of load-modify-save. With an
+     * {@code expectedVersion} (the client's {@code If-Match}) only that version is changed;
+     * without one a lost race is re-read and retried, which is safe because setting a status is
+     * idempotent. A change that still cannot be applied ends in {@link PreconditionFailedException}.
+     * Setting the status an item already has changes nothing, whichever version the client saw.
+     */
+    @Transactional
+    public MenuItemResponse updateMenuItemStatus(
+            Long menuItemId, UpdateMenuItemStatusRequest request, Long expectedVersion) {
+        Status status = request.getStatus();
+        MenuItemResponse response;
+        for (int attempt = 1; ; attempt++) {
+            response = menuItemRepository.findResponseById(menuItemId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + menuItemId));
+            if (response.getStatus() == status) {
+                return response;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(response.getVersion())) {
+                throw new PreconditionFailedException("Menu item " + menuItemId + " is at version "
+                        + response.getVersion() + ", not " + expectedVersion);
+            }
+            if (menuItemRepository.updateStatus(menuItemId, response.getVersion(), status) == 1) {
+                break;
+            }
+            if (attempt >= statusUpdateAttempts) {
+                throw new PreconditionFailedException("Menu item " + menuItemId
+                        + " was modified concurrently; re-read it and retry");
+            }
+        }
+        Status previous = response.getStatus();
+        response.setStatus(status);
+        response.setVersion(response.getVersion() + 1);
+        onMenuChanged(response.getRestaurantId());
+        menuSummaryService.itemsMoved(response.getRestaurantId(), List.of(new MenuItemStatusView(
+                menuItemId, response.getCategory(), previous, response.getPrice())), status);
+        menuItemSearchIndex.index(response);
+        menuEventPublisher.menuItemStatusChanged(response.getRestaurantId(), menuItemId, response.getStatus());
         
-        return mapToResponse(updatedMenuItem);
+        return response;
+    }
+    
+    public boolean isStatusBufferEnabled() {
+        return menuItemStatusBuffer.isEnabled();
+    }
+    
+    /**
+     * Hands a status change to the {@link MenuItemStatusBuffer} instead of writing it now. With
+     * {@code durable} this returns the row once the flush holding the change has committed;
+     * otherwise it returns at once with the buffered status and no version, which only the flush
+     * assigns. Changes that replace each other before a flush are written once.
+     */
+    public MenuItemResponse bufferMenuItemStatus(Long menuItemId, UpdateMenuItemStatusRequest request, boolean durable) {
+        MenuItemStatusBuffer.Buffered buffered = menuItemStatusBuffer.submit(menuItemId, request.getStatus(),
+                () -> readOnlyTransactionTemplate.execute(tx -> menuItemRepository.findResponseById(menuItemId))
+                        .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + menuItemId)));
+        return durable ? buffered.awaitFlush() : buffered.acknowledged();
+    }
+    
+    /**
+     * Waits for buffered status changes of the item to be written, so a change that bypasses the
+     * buffer lands after them instead of being overwritten by a later flush.
+     */
+    public void awaitBufferedStatus(Long menuItemId) {
+        menuItemStatusBuffer.awaitItem(menuItemId);
+    }
+    
+    /** {@link #awaitBufferedStatus} for every item of the restaurant. */
+    public void awaitBufferedStatuses(Long restaurantId) {
+        menuItemStatusBuffer.awaitRestaurant(restaurantId);
+    }
+    
+    /** Whether the restaurant has status changes its menu revision does not cover yet. */
+    public boolean hasBufferedStatuses(Long restaurantId) {
+        return menuItemStatusBuffer.hasPending(restaurantId);
+    }
+    
+    /**
+     * Writes a batch of buffered status changes in one transaction through the bulk path: one
+     * set-based UPDATE per restaurant and target status, with the same revision, summary, index
+     * and event bookkeeping, then reads the resulting rows back.
+     */
+    private Map<Long, MenuItemResponse> flushBufferedStatuses(List<MenuItemStatusBuffer.Write> writes) {
+        return transactionTemplate.execute(tx -> {
+            Map<Long, Map<Status, List<Long>>> byRestaurant = new LinkedHashMap<>();
+            for (MenuItemStatusBuffer.Write write : writes) {
+                byRestaurant.computeIfAbsent(write.restaurantId(), id -> new EnumMap<>(Status.class))
+                        .computeIfAbsent(write.status(), status -> new ArrayList<>())
+                        .add(write.menuItemId());
+            }
+            byRestaurant.forEach((restaurantId, byStatus) -> byStatus.forEach((status, ids) ->
+                    updateMenuItemStatuses(restaurantId, new BulkUpdateMenuItemStatusRequest(ids, null, status))));
+            Map<Long, MenuItemResponse> rows = new HashMap<>();
+            for (MenuItemResponse row : menuItemRepository.findResponsesByIdIn(
+                    writes.stream().map(MenuItemStatusBuffer.Write::menuItemId).toList())) {
+                rows.put(row.getId(), row);
+            }
+            return rows;
+        });
+    }
+    
+    /**
+     * Sets the status of many menu items of one restaurant in a single transaction: the items
+     * selected by id and/or category are read once, and only those whose status actually changes
+     * are written, with one set-based UPDATE per {@value #UPDATE_CHUNK_SIZE} ids.
+     */
+    @Transactional
+    public BulkUpdateMenuItemStatusResponse updateMenuItemStatuses(
+            Long restaurantId, BulkUpdateMenuItemStatusRequest request) {
+        Status status = request.getStatus();
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        Set<Long> requestedIds = byIds ? new LinkedHashSet<>(request.getIds()) : Set.of();
+        
+        List<MenuItemStatusView> matched = byIds
+                ? menuItemRepository.findStatusViewsByRestaurantIdAndIdIn(restaurantId, requestedIds)
+                : menuItemRepository.findStatusViewsByRestaurantIdAndCategory(restaurantId, request.getCategory());
+        if (matched.isEmpty()) {
+            restaurantService.ensureRestaurantExists(restaurantId);
+        }
+        
+        List<MenuItemStatusView> updated = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        Set<Long> foundIds = new LinkedHashSet<>();
+        for (MenuItemStatusView item : matched) {
+            if (request.getCategory() != null && item.category() != request.getCategory()) {
+                continue;
+            }
+            foundIds.add(item.id());
+            if (item.status() == status) {
+                unchangedIds.add(item.id());
+            } else {
+                updated.add(item);
+                updatedIds.add(item.id());
+            }
+        }
+        
+        for (int from = 0; from < updatedIds.size(); from += UPDATE_CHUNK_SIZE) {
+            menuItemRepository.updateStatusByIdIn(
+                updatedIds.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, updatedIds.size())), status);
+        }
+        if (!updatedIds.isEmpty()) {
+            onMenuChanged(restaurantId);
+            menuSummaryService.itemsMoved(restaurantId, updated, status);
+            menuItemSearchIndex.updateStatus(updatedIds, status);
+            menuEventPublisher.menuItemsStatusChanged(restaurantId, updatedIds, status);
+        }
+        
+        return BulkUpdateMenuItemStatusResponse.builder()
+                .restaurantId(restaurantId)
+                .status(status)
+                .updated(updatedIds.size())
+                .updatedIds(updatedIds)
+                .unchangedIds(unchangedIds)
+                .notFoundIds(requestedIds.stream().filter(id -> !foundIds.contains(id)).toList())
+                .build();
     }
     
     @Transactional
@@ -90,10 +443,22 @@ public class MenuItemService {
         MenuItem menuItem = menuItemRepository.findByIdAndNotDeleted(menuItemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + menuItemId));
         menuItem.setDeleted(true);
+        menuItem.setDeletedAt(Instant.now());
         menuItemRepository.save(menuItem);
+        onMenuChanged(menuItem.getRestaurant().getId());
+        menuSummaryService.itemRemoved(menuItem.getRestaurant().getId(), menuItem.getCategory(),
+                menuItem.getStatus(), menuItem.getPrice());
+        menuItemSearchIndex.remove(menuItemId);
+        menuEventPublisher.menuItemDeleted(menuItem.getRestaurant().getId(), menuItemId);
+    }
+    
+    private void onMenuChanged(Long restaurantId) {
+        restaurantService.incrementMenuRevision(restaurantId);
+        menuItemCache.evictRestaurant(restaurantId);
+        menuSnapshots.refresh(restaurantId);
     }
     
-    private MenuItemResponse mapToResponse(MenuItem menuItem) {
+    MenuItemResponse mapToResponse(MenuItem menuItem) {
         return MenuItemResponse.builder()
                 .id(menuItem.getId())
                 .name(menuItem.getName())
@@ -102,6 +467,7 @@ public class MenuItemService {
                 .status(menuItem.getStatus())
                 .restaurantId(menuItem.getRestaurant().getId())
                 .restaurantName(menuItem.getRestaurant().getName())
+                .version(menuItem.getVersion())
                 .build();
     }
 }
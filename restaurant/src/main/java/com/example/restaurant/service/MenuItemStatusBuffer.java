@@ -0,0 +1,365 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.exception.ResourceNotFoundException;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Status;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Optional group commit for single-item status changes, enabled with
+ * {@code menu.status-buffer.enabled}. Kitchen tablets flip the same items many times a minute;
+ * instead of a transaction per flip, a change only replaces the item's pending status here (last
+ * writer wins), and one flusher thread writes the final status of every dirty item every
+ * {@code flush-interval}, at most {@code max-batch-size} items per transaction. States that were
+ * overwritten before a flush never reach the database, the menu summaries or the event stream.
+ * A failed flush is retried per restaurant, and what still fails stays buffered and is retried
+ * with a growing delay, up to {@code max-attempts} times.
+ *
+ * <p>Every change is handed the future of the flush that makes it durable, so callers choose
+ * between waiting for it and acknowledging at once. Until that flush commits, reads see pending
+ * statuses through {@link #overlay}, and work that has to find them in the database waits for
+ * them first ({@link #awaitRestaurant}, {@link #awaitItem}).
+ */
+@Component
+public class MenuItemStatusBuffer implements MeterBinder {
+
+    /**
+     * Writes one batch in a single transaction and returns the rows it leaves behind by id; an
+     * item missing from the result no longer exists.
+     */
+    @FunctionalInterface
+    interface Flusher {
+        Map<Long, MenuItemResponse> flush(List<Write> writes);
+    }
+
+    record Write(Long menuItemId, Long restaurantId, Status status) {
+    }
+
+    /** A buffered change: the acknowledgement to return now and the flush that makes it durable. */
+    record Buffered(MenuItemResponse acknowledged, CompletableFuture<MenuItemResponse> flushed) {
+
+        MenuItemResponse awaitFlush() {
+            return join(flushed);
+        }
+    }
+
+    private static final class Entry {
+
+        final Long menuItemId;
+        /** The row as read when the item became dirty. */
+        final MenuItemResponse base;
+        final CompletableFuture<MenuItemResponse> flushed = new CompletableFuture<>();
+        volatile Status status;
+        /** Failed flushes so far and when the next one may run; touched by the flusher only. */
+        int attempts;
+        long retryAt;
+
+        Entry(Long menuItemId, MenuItemResponse base) {
+            this.menuItemId = menuItemId;
+            this.base = base;
+        }
+
+        Long restaurantId() {
+            return base.getRestaurantId();
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final Duration maxRetryDelay;
+
+    /** Open for changes; a flush moves entries from here to {@link #flushing} until it commits. */
+    private final ConcurrentMap<Long, Entry> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Entry> flushing = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong flushedItems = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong retriedItems = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private ScheduledExecutorService flusherThread;
+    private Flusher flusher;
+
+    public MenuItemStatusBuffer(
+            @Value("${menu.status-buffer.enabled:false}") boolean enabled,
+            @Value("${menu.status-buffer.flush-interval:5ms}") Duration flushInterval,
+            @Value("${menu.status-buffer.max-batch-size:1000}") int maxBatchSize,
+            @Value("${menu.status-buffer.max-attempts:10}") int maxAttempts,
+            @Value("${menu.status-buffer.max-retry-delay:1s}") Duration maxRetryDelay) {
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized void start(Flusher flusher) {
+        if (!enabled || flusherThread != null) {
+            return;
+        }
+        this.flusher = flusher;
+        flusherThread = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "menu-status-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = flushInterval.toNanos();
+        flusherThread.scheduleWithFixedDelay(() -> flushPending(false), intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the flusher and writes whatever is still pending on the calling thread, retries
+     * included, without waiting out their delays.
+     */
+    synchronized void stop() throws InterruptedException {
+        if (flusherThread == null) {
+            return;
+        }
+        flusherThread.shutdown();
+        flusherThread.awaitTermination(10, TimeUnit.SECONDS);
+        flushPending(true);
+        flusherThread = null;
+    }
+
+    /**
+     * Buffers {@code status} as the item's latest change. {@code loader} reads the row when the
+     * item has no pending change yet, which is also where an unknown item fails.
+     */
+    Buffered submit(Long menuItemId, Status status, Supplier<MenuItemResponse> loader) {
+        Entry current = pending.get(menuItemId);
+        MenuItemResponse base = current != null ? current.base : loader.get();
+        Entry entry = pending.compute(menuItemId, (id, existing) -> {
+            Entry updated = existing != null ? existing : new Entry(id, base);
+            updated.status = status;
+            return updated;
+        });
+        writes.incrementAndGet();
+        MenuItemResponse acknowledged = copyWithStatus(entry.base, status);
+        // the version is only known once the flush has run
+        acknowledged.setVersion(null);
+        return new Buffered(acknowledged, entry.flushed);
+    }
+
+    boolean hasPending(Long restaurantId) {
+        return entries().anyMatch(entry -> entry.restaurantId().equals(restaurantId));
+    }
+
+    /** {@code items} with every pending status applied, copying only the items it changes. */
+    List<MenuItemResponse> overlay(List<MenuItemResponse> items) {
+        if (pending.isEmpty() && flushing.isEmpty()) {
+            return items;
+        }
+        List<MenuItemResponse> result = items;
+        for (int i = 0; i < items.size(); i++) {
+            MenuItemResponse item = items.get(i);
+            Entry entry = pending.getOrDefault(item.getId(), flushing.get(item.getId()));
+            if (entry != null && entry.status != item.getStatus()) {
+                if (result == items) {
+                    result = new ArrayList<>(items);
+                }
+                result.set(i, copyWithStatus(item, entry.status));
+            }
+        }
+        return result;
+    }
+
+    /** Waits until every change pending for the restaurant has been written (or has failed). */
+    void awaitRestaurant(Long restaurantId) {
+        await(entries().filter(entry -> entry.restaurantId().equals(restaurantId)).toList());
+    }
+
+    void awaitItem(Long menuItemId) {
+        await(Stream.of(pending.get(menuItemId), flushing.get(menuItemId)).filter(entry -> entry != null).toList());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("menu.status.buffer.writes", writes, AtomicLong::get)
+                .description("Status changes accepted into the buffer")
+                .register(registry);
+        FunctionCounter.builder("menu.status.buffer.flushed", flushedItems, AtomicLong::get)
+                .description("Dirty items written by flushes")
+                .register(registry);
+        FunctionCounter.builder("menu.status.buffer.batches", batches, AtomicLong::get)
+                .description("Flush transactions committed")
+                .register(registry);
+        FunctionCounter.builder("menu.status.buffer.retried", retriedItems, AtomicLong::get)
+                .description("Dirty items put back for another flush after a failed one")
+                .register(registry);
+        FunctionCounter.builder("menu.status.buffer.failed", failedItems, AtomicLong::get)
+                .description("Dirty items dropped after their last flush attempt failed")
+                .register(registry);
+        Gauge.builder("menu.status.buffer.pending", pending, Map::size)
+                .description("Items with a status change waiting for the next flush")
+                .register(registry);
+    }
+
+    private void await(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        ScheduledExecutorService thread = flusherThread;
+        if (thread != null && !thread.isShutdown()) {
+            thread.execute(() -> flushPending(false));
+        }
+        for (Entry entry : entries) {
+            entry.flushed.exceptionally(failure -> null).join();
+        }
+    }
+
+    /**
+     * Runs on the flusher thread only, one batch after another. Entries waiting out a retry delay
+     * are left for a later run unless {@code last}, the final flush at shutdown.
+     */
+    private void flushPending(boolean last) {
+        int batchSize;
+        do {
+            long now = System.nanoTime();
+            List<Entry> batch = new ArrayList<>();
+            for (Entry candidate : pending.values()) {
+                if (batch.size() == maxBatchSize) {
+                    break;
+                }
+                if (!last && candidate.attempts > 0 && candidate.retryAt - now > 0) {
+                    continue;
+                }
+                if (pending.remove(candidate.menuItemId, candidate)) {
+                    flushing.put(candidate.menuItemId, candidate);
+                    batch.add(candidate);
+                }
+            }
+            batchSize = batch.size();
+            if (batchSize > 0) {
+                flush(batch, last);
+            }
+        } while (batchSize == maxBatchSize);
+    }
+
+    /**
+     * Writes the batch in one transaction. When that fails, each restaurant's share is retried
+     * in its own transaction, so one restaurant's failing write cannot hold back the others, and
+     * what still fails goes back to {@link #pending} for a later attempt.
+     */
+    private void flush(List<Entry> batch, boolean last) {
+        try {
+            complete(batch, flusher.flush(writesOf(batch)));
+            batches.incrementAndGet();
+            return;
+        } catch (RuntimeException e) {
+            if (batch.stream().map(Entry::restaurantId).distinct().count() == 1) {
+                retryLater(batch, e, last);
+                return;
+            }
+        }
+        Map<Long, List<Entry>> byRestaurant = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            byRestaurant.computeIfAbsent(entry.restaurantId(), id -> new ArrayList<>()).add(entry);
+        }
+        for (List<Entry> restaurantBatch : byRestaurant.values()) {
+            try {
+                complete(restaurantBatch, flusher.flush(writesOf(restaurantBatch)));
+                batches.incrementAndGet();
+            } catch (RuntimeException e) {
+                retryLater(restaurantBatch, e, last);
+            }
+        }
+    }
+
+    private void complete(List<Entry> batch, Map<Long, MenuItemResponse> rows) {
+        flushedItems.addAndGet(batch.size());
+        for (Entry entry : batch) {
+            flushing.remove(entry.menuItemId, entry);
+            MenuItemResponse row = rows.get(entry.menuItemId);
+            if (row != null) {
+                entry.flushed.complete(row);
+            } else {
+                entry.flushed.completeExceptionally(
+                        new ResourceNotFoundException("Menu item not found with id: " + entry.menuItemId));
+            }
+        }
+    }
+
+    /**
+     * Puts failed entries back into {@link #pending} with an exponential delay, unless a newer
+     * change to the item has arrived in the meantime: that one carries the item's latest status,
+     * so the older entry simply completes with it. After {@code max-attempts} the change is
+     * dropped and its future fails with the last error.
+     */
+    private void retryLater(List<Entry> batch, RuntimeException failure, boolean last) {
+        for (Entry entry : batch) {
+            entry.attempts++;
+            if (last || entry.attempts >= maxAttempts) {
+                failedItems.incrementAndGet();
+                flushing.remove(entry.menuItemId, entry);
+                entry.flushed.completeExceptionally(failure);
+                continue;
+            }
+            retriedItems.incrementAndGet();
+            long delay = Math.min(maxRetryDelay.toNanos(), flushInterval.toNanos() << Math.min(entry.attempts, 20));
+            entry.retryAt = System.nanoTime() + delay;
+            Entry current = pending.compute(entry.menuItemId, (id, newer) -> newer != null ? newer : entry);
+            flushing.remove(entry.menuItemId, entry);
+            if (current != entry) {
+                current.flushed.whenComplete((row, error) -> {
+                    if (error == null) {
+                        entry.flushed.complete(row);
+                    } else {
+                        entry.flushed.completeExceptionally(error);
+                    }
+                });
+            }
+        }
+    }
+
+    private static List<Write> writesOf(List<Entry> batch) {
+        return batch.stream()
+                .map(entry -> new Write(entry.menuItemId, entry.restaurantId(), entry.status))
+                .toList();
+    }
+
+    private Stream<Entry> entries() {
+        return Stream.concat(pending.values().stream(), flushing.values().stream());
+    }
+
+    private static MenuItemResponse copyWithStatus(MenuItemResponse item, Status status) {
+        return new MenuItemResponse(item.getId(), item.getName(), item.getPrice(), item.getCategory(), status,
+                item.getRestaurantId(), item.getRestaurantName(), item.getVersion());
+    }
+
+    private static MenuItemResponse join(CompletableFuture<MenuItemResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.cache.SingleFlight;
+import com.example.restaurant.datasource.ReadYourWrites;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemSliceResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer of the menu listings: a burst of identical reads shares one query. It sits
+ * behind {@link MenuItemCache}, so it absorbs misses when the cache is on and every read when it
+ * is off. A flight is keyed by the restaurant's cache generation, so a read that starts after a
+ * menu write never joins a query that started before it, and by read-your-writes pinning, so a
+ * client reading its own write never shares a replica read.
+ */
+@Component
+public class MenuReadFlights implements MeterBinder {
+
+    private final MenuItemCache menuItemCache;
+    private final SingleFlight<Flight, Page<MenuItemResponse>> listings;
+    private final SingleFlight<Flight, MenuItemSliceResponse> scrolls;
+
+    public MenuReadFlights(
+            MenuItemCache menuItemCache,
+            @Value("${menu.coalescing.enabled:true}") boolean enabled) {
+        this.menuItemCache = menuItemCache;
+        this.listings = new SingleFlight<>("listing", enabled);
+        this.scrolls = new SingleFlight<>("scroll", enabled);
+    }
+
+    public Page<MenuItemResponse> listing(MenuItemCache.Key key, Supplier<Page<MenuItemResponse>> loader) {
+        return listings.execute(flight(key.restaurantId(), key), loader);
+    }
+
+    public MenuItemSliceResponse scroll(Long restaurantId, Category category, Status status, long afterId, int size,
+                                        Supplier<MenuItemSliceResponse> loader) {
+        return scrolls.execute(flight(restaurantId, new ScrollQuery(restaurantId, category, status, afterId, size)), loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        listings.bindTo(registry);
+        scrolls.bindTo(registry);
+    }
+
+    private Flight flight(Long restaurantId, Object query) {
+        return new Flight(query, menuItemCache.generation(restaurantId), ReadYourWrites.isPinned());
+    }
+
+    private record Flight(Object query, long generation, boolean primary) {
+    }
+
+    private record ScrollQuery(Long restaurantId, Category category, Status status, long afterId, int size) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuSummaryReconcileResponse;
+import com.example.restaurant.model.entity.MenuSummary;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuBucketStats;
+import com.example.restaurant.repository.MenuItemRepository;
+import com.example.restaurant.repository.MenuSummaryRepository;
+import com.example.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically checks every restaurant's materialized menu summary against a full recount of its
+ * live items and rewrites the summaries that drifted, e.g. after rows were written outside the
+ * application. Restaurants are walked by id, {@code menu.summary.reconcile-batch-size} at a time,
+ * each batch in its own transaction with one summary read and one grouped recount. It also creates
+ * the buckets of restaurants that were inserted without them, and empties buckets rather than
+ * deleting them, since writers only ever update existing buckets.
+ */
+@Component
+public class MenuSummaryReconciler implements MeterBinder {
+
+    /** Incrementally maintained price sums may differ from a fresh SUM by rounding only. */
+    private static final double PRICE_SUM_TOLERANCE = 0.005;
+
+    private static final int BUCKETS_PER_RESTAURANT = Category.values().length * Status.values().length;
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final MenuSummaryRepository menuSummaryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final AtomicLong repaired = new AtomicLong();
+
+    public MenuSummaryReconciler(
+            RestaurantRepository restaurantRepository,
+            MenuItemRepository menuItemRepository,
+            MenuSummaryRepository menuSummaryRepository,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${menu.summary.reconcile-batch-size:500}") int batchSize) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.menuSummaryRepository = menuSummaryRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${menu.summary.reconcile-initial-delay:1m}",
+            fixedDelayString = "${menu.summary.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public synchronized MenuSummaryReconcileResponse reconcile() {
+        long started = System.nanoTime();
+        long checked = 0;
+        long repairedNow = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = restaurantRepository.findIdsAfter(afterId, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            repairedNow += transactionTemplate.execute(tx -> reconcileBatch(batch));
+            checked += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == batchSize);
+        repaired.addAndGet(repairedNow);
+        return MenuSummaryReconcileResponse.builder()
+                .restaurantsChecked(checked)
+                .restaurantsRepaired(repairedNow)
+                .durationMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("menu.summary.repaired", repaired, AtomicLong::get)
+                .description("Restaurants whose menu summary differed from a full recount")
+                .register(registry);
+    }
+
+    private int reconcileBatch(List<Long> restaurantIds) {
+        Map<Long, Map<MenuSummary.Key, MenuSummary>> stored = menuSummaryRepository.findByRestaurantIdIn(restaurantIds)
+                .stream()
+                .collect(Collectors.groupingBy(MenuSummary::getRestaurantId,
+                        Collectors.toMap(MenuSummaryReconciler::keyOf, Function.identity())));
+        Map<Long, Map<MenuSummary.Key, MenuBucketStats>> counted = menuItemRepository.countByRestaurantIdIn(restaurantIds)
+                .stream()
+                .collect(Collectors.groupingBy(MenuBucketStats::restaurantId,
+                        Collectors.toMap(MenuSummaryReconciler::keyOf, Function.identity())));
+
+        int repairedInBatch = 0;
+        for (Long restaurantId : restaurantIds) {
+            Map<MenuSummary.Key, MenuSummary> buckets = stored.getOrDefault(restaurantId, Map.of());
+            Map<MenuSummary.Key, MenuBucketStats> expected = counted.getOrDefault(restaurantId, Map.of());
+            if (!matches(buckets, expected)) {
+                repair(restaurantId, buckets, expected);
+                repairedInBatch++;
+            }
+        }
+        return repairedInBatch;
+    }
+
+    private static boolean matches(Map<MenuSummary.Key, MenuSummary> buckets,
+                                   Map<MenuSummary.Key, MenuBucketStats> expected) {
+        if (buckets.size() != BUCKETS_PER_RESTAURANT) {
+            return false;
+        }
+        for (MenuSummary bucket : buckets.values()) {
+            if (bucket.getItemCount() != 0 && !expected.containsKey(keyOf(bucket))) {
+                return false;
+            }
+        }
+        for (Map.Entry<MenuSummary.Key, MenuBucketStats> entry : expected.entrySet()) {
+            MenuSummary bucket = buckets.get(entry.getKey());
+            MenuBucketStats stats = entry.getValue();
+            if (bucket == null
+                    || bucket.getItemCount() != stats.itemCount()
+                    || Math.abs(bucket.getPriceSum() - stats.priceSum()) > PRICE_SUM_TOLERANCE
+                    || !Objects.equals(bucket.getPriceMin(), stats.priceMin())
+                    || !Objects.equals(bucket.getPriceMax(), stats.priceMax())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void repair(Long restaurantId, Map<MenuSummary.Key, MenuSummary> buckets,
+                        Map<MenuSummary.Key, MenuBucketStats> expected) {
+        for (Category category : Category.values()) {
+            for (Status status : Status.values()) {
+                MenuSummary.Key key = new MenuSummary.Key(restaurantId, category, status);
+                MenuBucketStats stats = expected.get(key);
+                MenuSummary bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new MenuSummary(restaurantId, category, status, 0, 0, null, null);
+                    entityManager.persist(bucket);
+                }
+                bucket.setItemCount(stats == null ? 0 : stats.itemCount());
+                bucket.setPriceSum(stats == null ? 0 : stats.priceSum());
+                bucket.setPriceMin(stats == null ? null : stats.priceMin());
+                bucket.setPriceMax(stats == null ? null : stats.priceMax());
+            }
+        }
+    }
+
+    private static MenuSummary.Key keyOf(MenuSummary bucket) {
+        return new MenuSummary.Key(bucket.getRestaurantId(), bucket.getCategory(), bucket.getStatus());
+    }
+
+    private static MenuSummary.Key keyOf(MenuBucketStats stats) {
+        return new MenuSummary.Key(stats.restaurantId(), stats.category(), stats.status());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuSummaryResponse;
+import com.example.restaurant.model.entity.MenuSummary;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemStatusView;
+import com.example.restaurant.repository.MenuSummaryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and serves the materialized per-restaurant menu summaries. Writers call in from their
+ * own transaction with the items that entered or left a (category, status) bucket; each affected
+ * bucket costs one atomic UPDATE, so concurrent writers never lose each other's deltas. Buckets
+ * are created with the restaurant, so writers normally never insert one; when a bucket is missing
+ * anyway, the first item added to it creates the restaurant's missing buckets empty, and the
+ * reconciler corrects them if items were already there. Reads are a primary-key range of at most
+ * one row per bucket, however large the menu.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class MenuSummaryService {
+
+    private final MenuSummaryRepository menuSummaryRepository;
+    private final RestaurantService restaurantService;
+
+    @Transactional
+    public void itemsAdded(Long restaurantId, Collection<MenuItemResponse> items) {
+        items.stream()
+                .collect(Collectors.groupingBy(item -> new MenuSummary.Key(restaurantId, item.getCategory(), item.getStatus()),
+                        Collectors.summarizingDouble(MenuItemResponse::getPrice)))
+                .forEach(this::add);
+    }
+
+    /** Must be called after the item is marked deleted, see {@link MenuSummaryRepository#removeItems}. */
+    @Transactional
+    public void itemRemoved(Long restaurantId, Category category, Status status, double price) {
+        menuSummaryRepository.removeItems(restaurantId, category, status, 1, price);
+    }
+
+    /** Must be called after the items' status has been written. */
+    @Transactional
+    public void itemsMoved(Long restaurantId, Collection<MenuItemStatusView> items, Status status) {
+        items.stream()
+                .collect(Collectors.groupingBy(item -> new MenuSummary.Key(restaurantId, item.category(), item.status()),
+                        Collectors.summarizingDouble(MenuItemStatusView::price)))
+                .forEach((from, prices) -> {
+                    menuSummaryRepository.removeItems(restaurantId, from.getCategory(), from.getStatus(),
+                            prices.getCount(), prices.getSum());
+                    add(new MenuSummary.Key(restaurantId, from.getCategory(), status), prices);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public MenuSummaryResponse getMenuSummary(Long restaurantId) {
+        List<MenuSummary> buckets = menuSummaryRepository.findByRestaurantId(restaurantId);
+        if (buckets.isEmpty()) {
+            restaurantService.ensureRestaurantExists(restaurantId);
+        }
+        return summarize(buckets);
+    }
+
+    /** Summaries of several restaurants in one statement; unknown restaurants get none. */
+    @Transactional(readOnly = true)
+    public Map<Long, MenuSummaryResponse> getMenuSummaries(Collection<Long> restaurantIds) {
+        Map<Long, MenuSummaryResponse> summaries = new HashMap<>();
+        menuSummaryRepository.findByRestaurantIdIn(restaurantIds).stream()
+                .collect(Collectors.groupingBy(MenuSummary::getRestaurantId))
+                .forEach((restaurantId, buckets) -> summaries.put(restaurantId, summarize(buckets)));
+        return summaries;
+    }
+
+    private void add(MenuSummary.Key key, DoubleSummaryStatistics prices) {
+        if (addItems(key, prices) == 0) {
+            menuSummaryRepository.createBucketsIfAbsent(key.getRestaurantId());
+            addItems(key, prices);
+        }
+    }
+
+    private int addItems(MenuSummary.Key key, DoubleSummaryStatistics prices) {
+        return menuSummaryRepository.addItems(key.getRestaurantId(), key.getCategory(), key.getStatus(),
+                prices.getCount(), prices.getSum(), prices.getMin(), prices.getMax());
+    }
+
+    static MenuSummaryResponse summarize(List<MenuSummary> buckets) {
+        Map<Category, MenuSummaryResponse.CategoryCount> categories = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            Map<Status, Long> statuses = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                statuses.put(status, 0L);
+            }
+            categories.put(category, new MenuSummaryResponse.CategoryCount(0, 0, statuses));
+        }
+        long total = 0;
+        long available = 0;
+        double priceSum = 0;
+        Double minPrice = null;
+        Double maxPrice = null;
+        for (MenuSummary bucket : buckets) {
+            if (bucket.getItemCount() == 0) {
+                continue;
+            }
+            MenuSummaryResponse.CategoryCount count = categories.get(bucket.getCategory());
+            count.getStatuses().put(bucket.getStatus(), bucket.getItemCount());
+            count.setTotal(count.getTotal() + bucket.getItemCount());
+            total += bucket.getItemCount();
+            if (bucket.getStatus() == Status.AVAILABLE) {
+                count.setAvailable(bucket.getItemCount());
+                available += bucket.getItemCount();
+            }
+            priceSum += bucket.getPriceSum();
+            minPrice = minPrice == null || bucket.getPriceMin() < minPrice ? bucket.getPriceMin() : minPrice;
+            maxPrice = maxPrice == null || bucket.getPriceMax() > maxPrice ? bucket.getPriceMax() : maxPrice;
+        }
+        return MenuSummaryResponse.builder()
+                .totalItems(total)
+                .availableItems(available)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .averagePrice(total == 0 ? null : priceSum / total)
+                .categories(categories)
+                .build();
+    }
+}
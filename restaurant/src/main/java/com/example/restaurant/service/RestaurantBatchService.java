@@ -0,0 +1,69 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.MenuSummaryResponse;
+import com.example.restaurant.model.dto.RestaurantBatchResponse;
+import com.example.restaurant.model.dto.RestaurantResponse;
+import com.example.restaurant.model.dto.RestaurantSummaryResponse;
+import com.example.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Restaurants and their menu summaries for many ids at once, for pages that would otherwise make
+ * one restaurant and one menu request per restaurant. Each chunk of {@value #IN_CHUNK_SIZE} ids
+ * costs two statements, a restaurant projection and a read of the materialized menu summaries,
+ * and the rows are assembled in memory in request order.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class RestaurantBatchService {
+
+    /** Keeps each IN list well within what every supported database accepts. */
+    private static final int IN_CHUNK_SIZE = 500;
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuSummaryService menuSummaryService;
+
+    @Transactional(readOnly = true)
+    public RestaurantBatchResponse getRestaurants(List<Long> ids) {
+        List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, RestaurantResponse> restaurants = new HashMap<>();
+        Map<Long, MenuSummaryResponse> menus = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + IN_CHUNK_SIZE, requestedIds.size()));
+            List<RestaurantResponse> found = restaurantRepository.findResponsesByIdIn(chunk);
+            if (found.isEmpty()) {
+                continue;
+            }
+            found.forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+            menus.putAll(menuSummaryService.getMenuSummaries(found.stream().map(RestaurantResponse::getId).toList()));
+        }
+
+        List<RestaurantSummaryResponse> summaries = new ArrayList<>(restaurants.size());
+        List<Long> notFoundIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            RestaurantResponse restaurant = restaurants.get(id);
+            if (restaurant == null) {
+                notFoundIds.add(id);
+                continue;
+            }
+            summaries.add(RestaurantSummaryResponse.builder()
+                    .restaurant(restaurant)
+                    .menu(menus.getOrDefault(id, MenuSummaryService.summarize(List.of())))
+                    .build());
+        }
+        return RestaurantBatchResponse.builder()
+                .restaurants(summaries)
+                .notFoundIds(notFoundIds)
+                .build();
+    }
+}
@@ -1,24 +1,53 @@
 package com.example.restaurant.service;
 
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.event.MenuEventPublisher;
 import com.example.restaurant.exception.DuplicateResourceException;
+import com.example.restaurant.exception.PreconditionFailedException;
 import com.example.restaurant.exception.ResourceNotFoundException;
 import com.example.restaurant.model.dto.CreateRestaurantRequest;
 import com.example.restaurant.model.dto.RestaurantResponse;
 import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
 import com.example.restaurant.model.entity.Restaurant;
+import com.example.restaurant.repository.MenuRevisionRepository;
+import com.example.restaurant.repository.MenuSummaryRepository;
 import com.example.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
 
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
 public class RestaurantService {
     
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private MenuRevisionRepository menuRevisionRepository;
+
+    @Autowired
+    private MenuSummaryRepository menuSummaryRepository;
+
+    @Autowired
+    private MenuItemCache menuItemCache;
+
+    @Autowired
+    private MenuEventPublisher menuEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${menu.concurrency.status-update-attempts:3}")
+    private int statusUpdateAttempts;
+
     @Transactional
     public RestaurantResponse createRestaurant(CreateRestaurantRequest request) {
         if (restaurantRepository.existsByName(request.getName())) {
@@ -31,8 +60,10 @@ public class RestaurantService {
         restaurant.setOpen(true);
         
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        menuRevisionRepository.create(savedRestaurant.getId());
+        menuSummaryRepository.createBuckets(savedRestaurant.getId());
         
-        return mapToResponse(savedRestaurant);
+        return mapToResponse(savedRestaurant, 0);
     }
 
     @Transactional(readOnly = true)
@@ -40,18 +71,96 @@ public class RestaurantService {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
         
-        return mapToResponse(restaurant);
+        return mapToResponse(restaurant, getMenuRevision(id));
     }
 
-    @Transactional
     public RestaurantResponse updateRestaurantStatus(Long id, UpdateRestaurantStatusRequest request) {
+        return updateRestaurantStatus(id, request, null);
+    }
+
+    public RestaurantResponse updateRestaurantStatus(Long id, UpdateRestaurantStatusRequest request, Long expectedVersion) {
+        return updateRestaurantStatus(id, request, expectedVersion, null);
+    }
+
+    /**
+     * Opens or closes the restaurant, optionally only while it is still at {@code expectedVersion}
+     * or {@code expectedMenuRevision} (the client's {@code If-Match}, as a version tag or as the
+     * tag of {@code GET /restaurants/{id}}). Each attempt is its own transaction: when the version
+     * check fails at flush the whole read-modify-write is repeated from a fresh read, at most
+     * {@code menu.concurrency.status-update-attempts} times, before the conflict is reported.
+     */
+    public RestaurantResponse updateRestaurantStatus(Long id, UpdateRestaurantStatusRequest request,
+                                                     Long expectedVersion, Long expectedMenuRevision) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(
+                        tx -> applyRestaurantStatus(id, request.getIsOpen(), expectedVersion, expectedMenuRevision));
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if (attempt >= statusUpdateAttempts) {
+                    throw new PreconditionFailedException("Restaurant " + id
+                            + " was modified concurrently; re-read it and retry");
+                }
+            }
+        }
+    }
+
+    private RestaurantResponse applyRestaurantStatus(Long id, boolean open, Long expectedVersion,
+                                                     Long expectedMenuRevision) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
+        if (restaurant.isOpen() == open) {
+            return mapToResponse(restaurant, getMenuRevision(id));
+        }
+        if (expectedVersion != null && expectedVersion != restaurant.getVersion()) {
+            throw new PreconditionFailedException("Restaurant " + id + " is at version "
+                    + restaurant.getVersion() + ", not " + expectedVersion);
+        }
         
-        restaurant.setOpen(request.getIsOpen());
-        Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+        restaurant.setOpen(open);
+        Restaurant updatedRestaurant = restaurantRepository.saveAndFlush(restaurant);
+        if (expectedMenuRevision == null) {
+            incrementMenuRevision(id);
+        } else if (!incrementMenuRevisionIfAt(id, expectedMenuRevision)) {
+            // rolls the status change back with the transaction
+            throw new PreconditionFailedException("Restaurant " + id + " is no longer at menu revision "
+                    + expectedMenuRevision);
+        }
+        menuItemCache.evictRestaurant(id);
         
-        return mapToResponse(updatedRestaurant);
+        RestaurantResponse response = mapToResponse(updatedRestaurant, getMenuRevision(id));
+        menuEventPublisher.restaurantStatusChanged(response);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public long getMenuRevision(Long id) {
+        return restaurantRepository.findMenuRevisionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
+    }
+
+    /**
+     * Atomically bumps the menu revision in the caller's transaction, so the new ETag becomes
+     * visible together with the menu change that caused it. The revision row is created with the
+     * restaurant, so concurrent first changes only ever contend on the row lock of the UPDATE; a
+     * restaurant whose row is missing reads as revision 0 and gets the row on its first change.
+     */
+    @Transactional
+    public void incrementMenuRevision(Long id) {
+        if (menuRevisionRepository.incrementRevision(id) == 0) {
+            menuRevisionRepository.createIfAbsent(id);
+            menuRevisionRepository.incrementRevision(id);
+        }
+    }
+
+    private boolean incrementMenuRevisionIfAt(Long id, long revision) {
+        if (menuRevisionRepository.incrementRevisionIfAt(id, revision) == 1) {
+            return true;
+        }
+        if (revision != 0) {
+            return false;
+        }
+        menuRevisionRepository.createIfAbsent(id);
+        return menuRevisionRepository.incrementRevisionIfAt(id, revision) == 1;
     }
 
     @Transactional(readOnly = true)
@@ -62,18 +171,32 @@ public class RestaurantService {
         return restaurant.isOpen();
     }
 
+    /**
+     * Existence check for read paths that project straight into DTOs and only need to tell an
+     * empty menu apart from an unknown restaurant. Goes through {@code findById} rather than an
+     * exists query so a cached restaurant answers it without a database round trip.
+     */
+    @Transactional(readOnly = true)
+    public void ensureRestaurantExists(Long id) {
+        if (restaurantRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + id);
+        }
+    }
+
     @Transactional(readOnly = true)
     public Restaurant getRestaurantEntityById(Long id) {
         return restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
     }
 
-    private RestaurantResponse mapToResponse(Restaurant restaurant) {
+    private RestaurantResponse mapToResponse(Restaurant restaurant, long menuRevision) {
         return RestaurantResponse.builder()
                 .id(restaurant.getId())
                 .name(restaurant.getName())
                 .location(restaurant.getLocation())
                 .isOpen(restaurant.isOpen())
+                .menuRevision(menuRevision)
+                .version(restaurant.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,148 @@
+package com.example.restaurant.snapshot;
+
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * One restaurant's live menu in id order, stored column by column: ids, versions, prices in minor
+ * units, category and status ordinals as bytes, and names as codes into a shared
+ * {@link StringTable}. Immutable; a menu change replaces the whole snapshot, and compacting the
+ * string table replaces it with a re-encoded copy.
+ */
+final class MenuSnapshot {
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final Status[] STATUSES = Status.values();
+    private static final int MINOR_UNITS = 100;
+
+    final long generation;
+    private final boolean servable;
+    private final Long restaurantId;
+    private final String restaurantName;
+    private final StringTable names;
+    private final long[] ids;
+    private final long[] versions;
+    private final int[] prices;
+    private final byte[] categories;
+    private final byte[] statuses;
+    private final int[] nameCodes;
+
+    private MenuSnapshot(long generation, Long restaurantId, String restaurantName, StringTable names, int size,
+                         boolean servable) {
+        this.generation = generation;
+        this.servable = servable;
+        this.restaurantId = restaurantId;
+        this.restaurantName = restaurantName;
+        this.names = names;
+        this.ids = new long[size];
+        this.versions = new long[size];
+        this.prices = new int[size];
+        this.categories = new byte[size];
+        this.statuses = new byte[size];
+        this.nameCodes = new int[size];
+    }
+
+    /**
+     * Snapshot of {@code items}, which must be one restaurant's live items in id order. When a
+     * price has no exact representation in minor units the snapshot is empty and not
+     * {@link #servable()}: such a menu is left to the database rather than served with rounded
+     * prices, and the stamp still keeps an older load from taking its place.
+     */
+    static MenuSnapshot of(long generation, Long restaurantId, List<MenuItemResponse> items, StringTable names) {
+        String restaurantName = items.isEmpty() ? null : items.get(0).getRestaurantName();
+        MenuSnapshot snapshot = new MenuSnapshot(generation, restaurantId, restaurantName, names, items.size(), true);
+        for (int i = 0; i < items.size(); i++) {
+            MenuItemResponse item = items.get(i);
+            double minor = item.getPrice() * MINOR_UNITS;
+            if (minor > Integer.MAX_VALUE || Math.round(minor) / (double) MINOR_UNITS != item.getPrice()) {
+                return invalidated(generation, restaurantId);
+            }
+            snapshot.ids[i] = item.getId();
+            snapshot.versions[i] = item.getVersion();
+            snapshot.prices[i] = (int) Math.round(minor);
+            snapshot.categories[i] = (byte) item.getCategory().ordinal();
+            snapshot.statuses[i] = (byte) item.getStatus().ordinal();
+            snapshot.nameCodes[i] = names.intern(item.getName());
+        }
+        return snapshot;
+    }
+
+    /** Placeholder for a menu that changed and has not been reloaded yet; never servable. */
+    static MenuSnapshot invalidated(long generation, Long restaurantId) {
+        return new MenuSnapshot(generation, restaurantId, null, null, 0, false);
+    }
+
+    /** Marks the name codes this snapshot holds in {@code table}. */
+    void markNames(StringTable table, BitSet live) {
+        if (names == table) {
+            for (int code : nameCodes) {
+                live.set(code);
+            }
+        }
+    }
+
+    /** The same snapshot, stamp included, with its names interned in {@code table}. */
+    MenuSnapshot withNames(StringTable table) {
+        if (names == null || names == table) {
+            return this;
+        }
+        MenuSnapshot snapshot = new MenuSnapshot(generation, restaurantId, restaurantName, table, ids.length, true);
+        System.arraycopy(ids, 0, snapshot.ids, 0, ids.length);
+        System.arraycopy(versions, 0, snapshot.versions, 0, ids.length);
+        System.arraycopy(prices, 0, snapshot.prices, 0, ids.length);
+        System.arraycopy(categories, 0, snapshot.categories, 0, ids.length);
+        System.arraycopy(statuses, 0, snapshot.statuses, 0, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            snapshot.nameCodes[i] = table.intern(names.get(nameCodes[i]));
+        }
+        return snapshot;
+    }
+
+    boolean servable() {
+        return servable;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /** Same rows, order and total as the offset listing queries, in one pass over two byte columns. */
+    Page<MenuItemResponse> page(Category category, Status status, Pageable pageable) {
+        long from = pageable.getOffset();
+        long to = from + pageable.getPageSize();
+        int categoryCode = category == null ? -1 : category.ordinal();
+        int statusCode = status == null ? -1 : status.ordinal();
+        List<MenuItemResponse> content = new ArrayList<>(Math.min(pageable.getPageSize(), ids.length));
+        int matched = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if ((categoryCode < 0 || categories[i] == categoryCode) && (statusCode < 0 || statuses[i] == statusCode)) {
+                if (matched >= from && matched < to) {
+                    content.add(item(i));
+                }
+                matched++;
+            }
+        }
+        return new PageImpl<>(content, pageable, matched);
+    }
+
+    private MenuItemResponse item(int i) {
+        return MenuItemResponse.builder()
+                .id(ids[i])
+                .name(names.get(nameCodes[i]))
+                .price(prices[i] / (double) MINOR_UNITS)
+                .category(CATEGORIES[categories[i]])
+                .status(STATUSES[statuses[i]])
+                .restaurantId(restaurantId)
+                .restaurantName(restaurantName)
+                .version(versions[i])
+                .build();
+    }
+}
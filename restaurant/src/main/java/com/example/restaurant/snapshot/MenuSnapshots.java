@@ -0,0 +1,300 @@
+package com.example.restaurant.snapshot;
+
+import com.example.restaurant.datasource.ReadYourWrites;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Optional columnar read model of every restaurant's live menu, enabled with
+ * {@code menu.snapshot.enabled}. Unsorted offset listings of a restaurant it holds are answered
+ * from a {@link MenuSnapshot} without a transaction or a query; anything else goes to the database.
+ *
+ * <p>Snapshots are loaded from the database once the application is ready. After a transaction
+ * that changed a restaurant's menu commits, the restaurant's snapshot is invalidated on the spot,
+ * so its listings go to the database, and reloaded from the primary on a background thread, which
+ * coalesces changes that arrive while a reload is queued. The reload is swapped in whole, so
+ * readers never see a half-applied change. Every load is stamped from one counter taken before it
+ * reads; a slower load that read older data never replaces a snapshot with a later stamp.
+ *
+ * <p>A periodic maintenance pass retries reloads that failed and compacts the shared
+ * {@link StringTable} once most of its names no longer appear on any menu.
+ */
+@Component
+public class MenuSnapshots implements MeterBinder {
+
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate primaryReads;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ConcurrentMap<Long, MenuSnapshot> menus = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile StringTable names = new StringTable();
+
+    public MenuSnapshots(
+            MenuItemRepository menuItemRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${menu.snapshot.enabled:false}") boolean enabled,
+            @Value("${menu.snapshot.rebuild-batch-size:10000}") int rebuildBatchSize) {
+        this.menuItemRepository = menuItemRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+        // reloads run after the writer's commit, so they need a transaction of their own
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setReadOnly(true);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every live menu item in id order into fresh snapshots and a fresh string table.
+     * Restaurants whose menus changed while the rebuild ran keep the newer reload.
+     */
+    public synchronized void rebuild() {
+        long stamp = generation.incrementAndGet();
+        StringTable table = new StringTable();
+        Map<Long, List<MenuItemResponse>> byRestaurant = new HashMap<>();
+        ReadYourWrites.onPrimary(() -> {
+            long afterId = 0;
+            List<MenuItemResponse> batch;
+            do {
+                long from = afterId;
+                batch = primaryReads.execute(tx -> menuItemRepository.findAllAfter(from, Limit.of(rebuildBatchSize)));
+                for (MenuItemResponse item : batch) {
+                    byRestaurant.computeIfAbsent(item.getRestaurantId(), id -> new ArrayList<>()).add(item);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+        });
+        names = table;
+        menus.entrySet().removeIf(entry -> entry.getValue().generation < stamp && !byRestaurant.containsKey(entry.getKey()));
+        byRestaurant.forEach((restaurantId, items) -> swap(restaurantId, MenuSnapshot.of(stamp, restaurantId, items, table), stamp));
+    }
+
+    /**
+     * The requested page from the restaurant's snapshot, or empty when snapshots are off, the
+     * restaurant has none or an unservable one, or the page is sorted.
+     */
+    public Optional<Page<MenuItemResponse>> findPage(Long restaurantId, Category category, Status status, Pageable pageable) {
+        if (!enabled || pageable.getSort().isSorted()) {
+            return Optional.empty();
+        }
+        MenuSnapshot snapshot = menus.get(restaurantId);
+        if (snapshot == null || !snapshot.servable()) {
+            return Optional.empty();
+        }
+        served.incrementAndGet();
+        return Optional.of(snapshot.page(category, status, pageable));
+    }
+
+    /**
+     * Invalidates and queues a reload of the restaurant's snapshot once the current transaction
+     * commits, at most once per transaction and restaurant; outside a transaction right away.
+     */
+    public void refresh(Long restaurantId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(restaurantId);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> restaurantIds = new LinkedHashSet<>();
+            pending = restaurantIds;
+            TransactionSynchronizationManager.bindResource(this, restaurantIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    restaurantIds.forEach(MenuSnapshots.this::invalidate);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MenuSnapshots.this);
+                }
+            });
+        }
+        pending.add(restaurantId);
+    }
+
+    /** Retries failed reloads and compacts the string table when most of it is dead. */
+    @Scheduled(initialDelayString = "${menu.snapshot.maintenance-interval:1m}",
+            fixedDelayString = "${menu.snapshot.maintenance-interval:1m}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        for (Long restaurantId : failed) {
+            failed.remove(restaurantId);
+            queueReload(restaurantId);
+        }
+        compactNames();
+    }
+
+    /**
+     * Moves every snapshot onto a fresh string table holding only the names still on a menu, if
+     * more than half of the current table is dead. Snapshots keep their stamps, and each one
+     * decodes through the table it was built with, so a reload racing the compaction stays
+     * correct and is moved over by the next one.
+     */
+    synchronized void compactNames() {
+        StringTable table = names;
+        BitSet live = new BitSet(table.size());
+        menus.values().forEach(snapshot -> snapshot.markNames(table, live));
+        if (table.size() - live.cardinality() <= live.cardinality()) {
+            return;
+        }
+        StringTable compacted = new StringTable();
+        names = compacted;
+        menus.replaceAll((restaurantId, snapshot) -> snapshot.withNames(compacted));
+        compactions.incrementAndGet();
+    }
+
+    /** Waits until every reload queued so far has finished. */
+    void awaitRefreshes() throws InterruptedException {
+        try {
+            refresher.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int nameCount() {
+        return names.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("menu.snapshot.restaurants", menus, Map::size)
+                .description("Restaurants whose menu is held as a columnar snapshot")
+                .register(registry);
+        Gauge.builder("menu.snapshot.items", this, snapshots -> snapshots.menus.values().stream()
+                        .mapToInt(MenuSnapshot::size).sum())
+                .description("Menu items held in columnar snapshots")
+                .register(registry);
+        FunctionCounter.builder("menu.snapshot.reads", served, AtomicLong::get)
+                .description("Menu listings answered from a snapshot")
+                .register(registry);
+        FunctionCounter.builder("menu.snapshot.refreshes", refreshes, AtomicLong::get)
+                .description("Snapshots reloaded after a menu change")
+                .register(registry);
+        FunctionCounter.builder("menu.snapshot.refresh.failures", refreshFailures, AtomicLong::get)
+                .description("Snapshot reloads that failed and were left to the maintenance pass")
+                .register(registry);
+        Gauge.builder("menu.snapshot.names", this, MenuSnapshots::nameCount)
+                .description("Distinct names in the shared string table, dead ones included")
+                .register(registry);
+        FunctionCounter.builder("menu.snapshot.compactions", compactions, AtomicLong::get)
+                .description("String tables replaced to drop names no longer on any menu")
+                .register(registry);
+    }
+
+    /**
+     * Takes the restaurant's snapshot out of service, stamped so that no load which started
+     * before the change can put an older one back, and queues the reload.
+     */
+    private void invalidate(Long restaurantId) {
+        long stamp = generation.incrementAndGet();
+        swap(restaurantId, MenuSnapshot.invalidated(stamp, restaurantId), stamp);
+        queueReload(restaurantId);
+    }
+
+    private void queueReload(Long restaurantId) {
+        if (queued.add(restaurantId)) {
+            refresher.execute(() -> {
+                queued.remove(restaurantId);
+                try {
+                    reload(restaurantId);
+                } catch (RuntimeException e) {
+                    refreshFailures.incrementAndGet();
+                    failed.add(restaurantId);
+                }
+            });
+        }
+    }
+
+    private void reload(Long restaurantId) {
+        long stamp = generation.incrementAndGet();
+        StringTable table = names;
+        List<MenuItemResponse> items = ReadYourWrites.onPrimary(() -> primaryReads.execute(tx -> {
+            try (Stream<MenuItemResponse> stream = menuItemRepository.streamByRestaurantId(restaurantId)) {
+                return stream.toList();
+            }
+        }));
+        refreshes.incrementAndGet();
+        swap(restaurantId, MenuSnapshot.of(stamp, restaurantId, items, table), stamp);
+    }
+
+    /** Installs {@code snapshot} unless a later load got there first. */
+    private void swap(Long restaurantId, MenuSnapshot snapshot, long stamp) {
+        menus.compute(restaurantId, (id, current) -> {
+            if (current != null && current.generation > stamp) {
+                return current;
+            }
+            return snapshot;
+        });
+    }
+}
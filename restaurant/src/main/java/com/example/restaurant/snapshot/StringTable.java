@@ -0,0 +1,42 @@
+package com.example.restaurant.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only table of distinct strings shared by all menu snapshots, so a dish name that
+ * appears on many menus is stored once and each item keeps a 4-byte code. Codes are never
+ * reused; names that drop off every menu stay until a rebuild or a compaction in
+ * {@link MenuSnapshots} starts a new table.
+ */
+final class StringTable {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] strings = new String[1024];
+    private int size;
+
+    synchronized int intern(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] current = strings;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        strings = current;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /** Readers reach a code through a snapshot published after it was interned, so it is visible. */
+    String get(int code) {
+        return strings[code];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,116 @@
+-- Schema for the fast-startup profile, which skips Hibernate's ddl-auto=update at boot.
+-- Generated from the JPA entities (see README, Fast Startup); FastStartupProfileTest fails when it
+-- no longer matches them. Every statement is idempotent, since each instance booting with this
+-- profile runs the script against the shared database.
+
+create sequence if not exists menu_events_seq start with 1 increment by 50;
+
+create sequence if not exists menu_items_seq start with 1 increment by 50;
+
+create table if not exists menu_event_sequence (
+    id integer not null,
+    last_sequence bigint not null,
+    primary key (id)
+);
+
+create table if not exists menu_events (
+    id bigint not null,
+    menu_item_id bigint,
+    occurred_at timestamp(6) with time zone not null,
+    restaurant_id bigint not null,
+    sequence_number bigint,
+    payload varchar(4000) not null,
+    type enum ('MENU_ITEM_CREATED','MENU_ITEM_DELETED','MENU_ITEM_STATUS_CHANGED','RESTAURANT_CLOSED','RESTAURANT_OPENED') not null,
+    primary key (id),
+    constraint idx_menu_events_sequence unique (sequence_number)
+);
+
+create table if not exists menu_items (
+    deleted boolean not null,
+    price float(53) not null,
+    deleted_at timestamp(6) with time zone,
+    id bigint not null,
+    restaurant_id bigint not null,
+    version bigint default 0 not null,
+    name varchar(255) not null,
+    category enum ('DESSERT','DRINK','NON_VEG','VEG') not null,
+    status enum ('AVAILABLE','OUT_OF_STOCK') not null,
+    primary key (id),
+    unique (name, restaurant_id)
+);
+
+create table if not exists menu_items_archive (
+    price float(53) not null,
+    archived_at timestamp(6) with time zone not null,
+    deleted_at timestamp(6) with time zone,
+    id bigint not null,
+    restaurant_id bigint not null,
+    version bigint not null,
+    name varchar(255) not null,
+    category enum ('DESSERT','DRINK','NON_VEG','VEG') not null,
+    status enum ('AVAILABLE','OUT_OF_STOCK') not null,
+    primary key (id)
+);
+
+create table if not exists menu_revisions (
+    restaurant_id bigint not null,
+    revision bigint not null,
+    primary key (restaurant_id)
+);
+
+create table if not exists menu_summaries (
+    price_max float(53),
+    price_min float(53),
+    price_sum float(53) not null,
+    item_count bigint not null,
+    restaurant_id bigint not null,
+    category enum ('DESSERT','DRINK','NON_VEG','VEG') not null,
+    status enum ('AVAILABLE','OUT_OF_STOCK') not null,
+    primary key (restaurant_id, category, status)
+);
+
+create table if not exists restaurants (
+    is_open boolean not null,
+    id bigint generated by default as identity,
+    version bigint default 0 not null,
+    location varchar(255),
+    name varchar(255) not null,
+    primary key (id),
+    unique (name)
+);
+
+create index if not exists idx_menu_events_restaurant_sequence
+   on menu_events (restaurant_id, sequence_number);
+
+create index if not exists idx_menu_items_restaurant
+   on menu_items (restaurant_id, deleted, id);
+
+create index if not exists idx_menu_items_restaurant_category
+   on menu_items (restaurant_id, deleted, category, id);
+
+create index if not exists idx_menu_items_restaurant_status
+   on menu_items (restaurant_id, deleted, status, id);
+
+create index if not exists idx_menu_items_restaurant_category_status
+   on menu_items (restaurant_id, deleted, category, status, id);
+
+create index if not exists idx_menu_items_deleted
+   on menu_items (deleted, deleted_at);
+
+alter table menu_items
+   add constraint if not exists fk_menu_items_restaurant
+   foreign key (restaurant_id)
+   references restaurants;
+
+-- Restaurants created before their menu revision row and summary buckets were inserted with them.
+insert into menu_revisions (restaurant_id, revision)
+   select r.id, 0 from restaurants r
+   where not exists (select 1 from menu_revisions mr where mr.restaurant_id = r.id);
+
+insert into menu_summaries (restaurant_id, category, status, item_count, price_sum)
+   select r.id, c.category, s.status, 0, 0
+   from restaurants r
+   cross join (values 'DESSERT', 'DRINK', 'NON_VEG', 'VEG') c(category)
+   cross join (values 'AVAILABLE', 'OUT_OF_STOCK') s(status)
+   where not exists (select 1 from menu_summaries ms
+      where ms.restaurant_id = r.id and ms.category = c.category and ms.status = s.status);
@@ -0,0 +1,63 @@
+package com.example.restaurant;
+
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fast-startup schema script matches the entities (Hibernate validates it instead of updating
+ * it) and can run again against an existing schema, as it does for every further instance; lazy
+ * initialization still creates the scheduled jobs at boot.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.datasource.url=jdbc:h2:mem:fast-startup"
+})
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void schemaScriptMatchesTheEntitiesAndScheduledJobsStayEager() {
+        assertThat(context.getBeanFactory().containsSingleton("menuEventRelay")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("menuSummaryReconciler")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("menuItemPurger")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("menuItemImportService")).isFalse();
+    }
+
+    @Test
+    void schemaScriptRunsAgainstAnExistingSchema() {
+        Long restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Second Boot " + UUID.randomUUID(), "Test")).getId();
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM restaurants WHERE id = ?",
+            Long.class, restaurantId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM menu_revisions WHERE restaurant_id = ?",
+            Long.class, restaurantId)).isEqualTo(1);
+    }
+}
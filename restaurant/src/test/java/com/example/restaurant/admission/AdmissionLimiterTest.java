@@ -0,0 +1,160 @@
+package com.example.restaurant.admission;
+
+import com.example.restaurant.exception.RestaurantOverloadedException;
+import com.example.restaurant.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A busy restaurant is turned away without slowing the others, its reads cannot take the slots its
+ * writes need, a full service queues briefly and then sheds, queued writes go ahead of queued
+ * reads, routes naming a menu item are charged to its restaurant, and the limit follows latency.
+ */
+class AdmissionLimiterTest {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    @Test
+    void restaurantOverItsShareIsRejectedWhileOthersAreAdmitted() {
+        AdmissionLimiter limiter = limiter(4, Duration.ofMillis(10));
+        limiter.acquire(1L, false);
+        limiter.acquire(1L, true);
+
+        assertThatThrownBy(() -> limiter.acquire(1L, false))
+            .isInstanceOf(RestaurantOverloadedException.class)
+            .extracting(ex -> ((RestaurantOverloadedException) ex).getRetryAfter())
+            .isEqualTo(RETRY_AFTER);
+        assertThat(limiter.acquire(2L, false)).isNotNull();
+        assertThat(counter(limiter, "menu.admission.shed", "scope", "restaurant", "kind", "read")).isEqualTo(1);
+    }
+
+    @Test
+    void restaurantReadsLeaveRoomForItsWrites() {
+        AdmissionLimiter limiter = new AdmissionLimiter(
+            new GradientLimit(10, 1, 10, false), 0.5, 0.6, 10, Duration.ofMillis(10), RETRY_AFTER);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L, false);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(1L, false)).isInstanceOf(RestaurantOverloadedException.class);
+        assertThat(limiter.acquire(1L, true)).isNotNull();
+        assertThat(limiter.acquire(1L, true)).isNotNull();
+        assertThatThrownBy(() -> limiter.acquire(1L, true)).isInstanceOf(RestaurantOverloadedException.class);
+        assertThat(counter(limiter, "menu.admission.shed", "scope", "restaurant", "kind", "read")).isEqualTo(1);
+        assertThat(counter(limiter, "menu.admission.shed", "scope", "restaurant", "kind", "write")).isEqualTo(1);
+    }
+
+    @Test
+    void requestsOverTheGlobalLimitWaitThenShed() {
+        AdmissionLimiter limiter = limiter(2, Duration.ofMillis(20));
+        limiter.acquire(null, true);
+        limiter.acquire(null, true);
+
+        assertThatThrownBy(() -> limiter.acquire(null, true)).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(counter(limiter, "menu.admission.queued", "kind", "write")).isEqualTo(1);
+        assertThat(counter(limiter, "menu.admission.shed", "scope", "global", "kind", "write")).isEqualTo(1);
+    }
+
+    @Test
+    void queuedWritesAreAdmittedBeforeQueuedReads() throws Exception {
+        AdmissionLimiter limiter = limiter(2, Duration.ofSeconds(5));
+        List<AdmissionLimiter.Permit> held = new ArrayList<>(List.of(limiter.acquire(null, true), limiter.acquire(null, true)));
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> read = CompletableFuture.runAsync(() -> {
+            limiter.acquire(null, false);
+            admitted.add("read");
+        });
+        awaitUntil(() -> counter(limiter, "menu.admission.queued", "kind", "read") == 1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            limiter.acquire(null, true);
+            admitted.add("write");
+        });
+        awaitUntil(() -> counter(limiter, "menu.admission.queued", "kind", "write") == 1);
+
+        held.get(0).release();
+        write.get(5, TimeUnit.SECONDS);
+        assertThat(admitted).containsExactly("write");
+
+        held.get(1).release();
+        read.get(5, TimeUnit.SECONDS);
+        assertThat(admitted).containsExactly("write", "read");
+    }
+
+    @Test
+    void menuItemRoutesCountAgainstTheItemsRestaurant() throws Exception {
+        AdmissionLimiter limiter = limiter(4, Duration.ofMillis(10));
+        Map<Long, Long> owners = Map.of(10L, 1L, 20L, 2L);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(limiter, owners::get);
+        HandlerMethod handler = new HandlerMethod(new ItemRoutes(), ItemRoutes.class.getMethod("delete"));
+        limiter.acquire(1L, true);
+        limiter.acquire(1L, true);
+
+        assertThatThrownBy(() -> interceptor.preHandle(itemRequest(10L), new MockHttpServletResponse(), handler))
+            .isInstanceOf(RestaurantOverloadedException.class);
+        assertThat(interceptor.preHandle(itemRequest(20L), new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(counter(limiter, "menu.admission.shed", "scope", "restaurant", "kind", "write")).isEqualTo(1);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, true);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), limit.get());
+        }
+        int grown = limit.get();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(50), limit.get());
+        }
+        assertThat(limit.get()).isLessThan(grown);
+    }
+
+    private static MockHttpServletRequest itemRequest(Long menuItemId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/menu-items/" + menuItemId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+            Map.of("menuItemId", String.valueOf(menuItemId)));
+        return request;
+    }
+
+    @AdmissionControlled
+    static class ItemRoutes {
+
+        public void delete() {
+        }
+    }
+
+    private static AdmissionLimiter limiter(int limit, Duration queueTimeout) {
+        return new AdmissionLimiter(new GradientLimit(limit, 1, limit, false), 0.5, 1.0, 10, queueTimeout, RETRY_AFTER);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static double counter(AdmissionLimiter limiter, String name, String... tags) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        return registry.get(name).tags(tags).functionCounter().count();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.restaurant.cache;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.HibernateCacheStatsResponse;
+import com.example.restaurant.model.dto.RestaurantResponse;
+import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.repository.RestaurantRepository;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restaurant lookups by id and by name are answered from the second-level and natural-id caches,
+ * a status flip is visible to the next read, and keyset pages are reused from the query cache
+ * until the menu changes.
+ */
+@SpringBootTest
+class HibernateSecondLevelCacheTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private HibernateCacheStats hibernateCacheStats;
+
+    private String name;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        name = "L2 Kitchen " + UUID.randomUUID();
+        restaurantId = restaurantService.createRestaurant(new CreateRestaurantRequest(name, "Test")).getId();
+    }
+
+    @Test
+    void restaurantLookupsSkipTheDatabase() {
+        restaurantService.getRestaurantEntityById(restaurantId);
+        assertThat(restaurantRepository.findByName(name)).isPresent();
+        StatementCounter.reset();
+
+        assertThat(restaurantService.isRestaurantOpen(restaurantId)).isTrue();
+        restaurantService.ensureRestaurantExists(restaurantId);
+        assertThat(restaurantRepository.existsByName(name)).isTrue();
+        assertThat(restaurantRepository.findByName(name)).get()
+            .satisfies(restaurant -> assertThat(restaurant.getId()).isEqualTo(restaurantId));
+        assertThat(StatementCounter.current()).isZero();
+    }
+
+    @Test
+    void statusChangeInvalidatesCachedRestaurant() {
+        assertThat(restaurantService.isRestaurantOpen(restaurantId)).isTrue();
+
+        RestaurantResponse closed = restaurantService.updateRestaurantStatus(restaurantId,
+            new UpdateRestaurantStatusRequest(false));
+
+        assertThat(closed.getMenuRevision()).isEqualTo(1);
+        assertThat(restaurantService.isRestaurantOpen(restaurantId)).isFalse();
+        assertThat(restaurantRepository.findByName(name)).get()
+            .satisfies(restaurant -> assertThat(restaurant.isOpen()).isFalse());
+        assertThat(restaurantService.getRestaurantById(restaurantId))
+            .satisfies(response -> {
+                assertThat(response.isOpen()).isFalse();
+                assertThat(response.getMenuRevision()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void keysetPageIsServedFromQueryCacheUntilMenuChanges() {
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Masala Dosa", 149.0, Category.VEG));
+        assertThat(menuItemService.scrollMenuItems(restaurantId, null, null, null, 10).getContent()).hasSize(1);
+        StatementCounter.reset();
+
+        assertThat(menuItemService.scrollMenuItems(restaurantId, null, null, null, 10).getContent()).hasSize(1);
+        assertThat(StatementCounter.current()).isZero();
+
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Filter Coffee", 49.0, Category.DRINK));
+        assertThat(menuItemService.scrollMenuItems(restaurantId, null, null, null, 10).getContent()).hasSize(2);
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(2);
+    }
+
+    @Test
+    void statsReportCacheRegions() {
+        restaurantService.getRestaurantEntityById(restaurantId);
+
+        HibernateCacheStatsResponse stats = hibernateCacheStats.stats();
+
+        assertThat(stats.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(stats.getRegions()).extracting(HibernateCacheStatsResponse.Region::getName)
+            .contains("restaurants", "restaurant-names");
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.restaurant.cache;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every menu write drops the cached pages of the restaurant it touched and leaves its neighbours'
+ * pages alone, and a page loaded while a write went through is served once but not stored.
+ */
+@SpringBootTest
+class MenuItemCacheTest {
+
+    @Autowired
+    private MenuItemCache menuItemCache;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    private Long restaurantId;
+    private Long neighbourId;
+    private Long menuItemId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Cache Kitchen " + UUID.randomUUID(), "Test")).getId();
+        neighbourId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Cache Neighbour " + UUID.randomUUID(), "Test")).getId();
+        menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Idli", 40.0, Category.VEG)).getId();
+        menuItemService.addMenuItem(neighbourId, new CreateMenuItemRequest("Poha", 30.0, Category.VEG));
+    }
+
+    @Test
+    void addMenuItemEvictsOnlyThatRestaurant() {
+        warmBoth();
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Upma", 35.0, Category.VEG));
+        assertEvictedOnlyForRestaurant();
+    }
+
+    @Test
+    void updateMenuItemStatusEvictsOnlyThatRestaurant() {
+        warmBoth();
+        menuItemService.updateMenuItemStatus(menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        assertEvictedOnlyForRestaurant();
+    }
+
+    @Test
+    void deleteMenuItemEvictsOnlyThatRestaurant() {
+        warmBoth();
+        menuItemService.deleteMenuItem(menuItemId);
+        assertEvictedOnlyForRestaurant();
+    }
+
+    @Test
+    void updateRestaurantStatusEvictsOnlyThatRestaurant() {
+        warmBoth();
+        restaurantService.updateRestaurantStatus(restaurantId, new UpdateRestaurantStatusRequest(false));
+        assertEvictedOnlyForRestaurant();
+    }
+
+    @Test
+    void loadThatRacedAWriteIsNotStored() {
+        MenuItemCache cache = new MenuItemCache(true, 100, Duration.ofMinutes(1), "");
+        MenuItemCache.Key key = MenuItemCache.Key.of(1L, null, null, PageRequest.of(0, 10));
+        Page<MenuItemResponse> stale = new PageImpl<>(List.of());
+        Page<MenuItemResponse> fresh = new PageImpl<>(List.of());
+
+        Page<MenuItemResponse> served = cache.get(key, () -> {
+            cache.evictRestaurant(1L);
+            return stale;
+        });
+        assertThat(served).isSameAs(stale);
+
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get(key, () -> {
+            loads.incrementAndGet();
+            return fresh;
+        })).isSameAs(fresh);
+        assertThat(cache.get(key, () -> {
+            loads.incrementAndGet();
+            return stale;
+        })).isSameAs(fresh);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private void warmBoth() {
+        menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10));
+        menuItemService.getMenuItems(neighbourId, null, null, PageRequest.of(0, 10));
+        assertThat(isCached(restaurantId)).isTrue();
+        assertThat(isCached(neighbourId)).isTrue();
+    }
+
+    private void assertEvictedOnlyForRestaurant() {
+        assertThat(isCached(restaurantId)).isFalse();
+        assertThat(isCached(neighbourId)).isTrue();
+    }
+
+    /**
+     * Probes the listing page the service warmed; the probe loader is only called on a miss and
+     * its result is thrown away again so the probe leaves the cache as it found it.
+     */
+    private boolean isCached(Long id) {
+        MenuItemCache.Key key = MenuItemCache.Key.of(id, null, null, PageRequest.of(0, 10));
+        AtomicInteger loads = new AtomicInteger();
+        menuItemCache.get(key, () -> {
+            loads.incrementAndGet();
+            menuItemCache.evictRestaurant(id);
+            return Page.empty();
+        });
+        return loads.get() == 0;
+    }
+}
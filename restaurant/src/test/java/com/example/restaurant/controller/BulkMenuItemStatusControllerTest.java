@@ -0,0 +1,148 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+/**
+ * {@code PATCH /restaurants/{id}/menu-items/status} with ids that change, ids already at the
+ * target status, ids that do not exist or belong to another restaurant, and soft-deleted ids:
+ * only the first kind is written, and deleted items stay untouched even when the set-based
+ * UPDATE is handed their id directly.
+ */
+@SpringBootTest
+class BulkMenuItemStatusControllerTest {
+
+    private static final String BULK_STATUS = "/api/v1/restaurants/{restaurantId}/menu-items/status";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        restaurantId = createRestaurant();
+    }
+
+    @Test
+    void updatesOnlyLiveItemsOfTheRestaurant() throws Exception {
+        Long available = addItem(restaurantId, "Dosa");
+        Long alreadyOut = addItem(restaurantId, "Idli");
+        menuItemService.updateMenuItemStatus(alreadyOut, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        Long deleted = addItem(restaurantId, "Vada");
+        menuItemService.deleteMenuItem(deleted);
+        Long elsewhere = addItem(createRestaurant(), "Upma");
+        long missing = Long.MAX_VALUE;
+
+        MvcResult result = mockMvc.perform(patch(BULK_STATUS, restaurantId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[%d,%d,%d,%d,%d],\"status\":\"OUT_OF_STOCK\"}"
+                    .formatted(available, alreadyOut, deleted, elsewhere, missing)))
+            .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        String body = result.getResponse().getContentAsString();
+        assertThat((Integer) JsonPath.read(body, "$.updated")).isEqualTo(1);
+        assertThat(longs(body, "$.updatedIds")).containsExactly(available);
+        assertThat(longs(body, "$.unchangedIds")).containsExactly(alreadyOut);
+        assertThat(longs(body, "$.notFoundIds")).containsExactly(deleted, elsewhere, missing);
+
+        assertThat(statusOf(available)).isEqualTo(Status.OUT_OF_STOCK.name());
+        assertThat(statusOf(deleted)).isEqualTo(Status.AVAILABLE.name());
+        assertThat(statusOf(elsewhere)).isEqualTo(Status.AVAILABLE.name());
+    }
+
+    @Test
+    void setBasedUpdateSkipsDeletedItems() {
+        Long live = addItem(restaurantId, "Poha");
+        Long deleted = addItem(restaurantId, "Sheera");
+        menuItemService.deleteMenuItem(deleted);
+
+        Integer rows = transactionTemplate.execute(tx ->
+            menuItemRepository.updateStatusByIdIn(List.of(live, deleted), Status.OUT_OF_STOCK));
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(statusOf(deleted)).isEqualTo(Status.AVAILABLE.name());
+    }
+
+    @Test
+    void rejectsInvalidRequests() throws Exception {
+        Long item = addItem(restaurantId, "Pongal");
+
+        assertThat(bulkStatus(restaurantId, "{\"ids\":[],\"status\":\"OUT_OF_STOCK\"}"))
+            .isEqualTo(400);
+        assertThat(bulkStatus(restaurantId, "{\"ids\":[%d,null],\"status\":\"OUT_OF_STOCK\"}".formatted(item)))
+            .isEqualTo(400);
+        assertThat(bulkStatus(restaurantId, "{\"ids\":[%d]}".formatted(item)))
+            .isEqualTo(400);
+        assertThat(bulkStatus(Long.MAX_VALUE, "{\"ids\":[%d],\"status\":\"OUT_OF_STOCK\"}".formatted(item)))
+            .isEqualTo(404);
+        assertThat(statusOf(item)).isEqualTo(Status.AVAILABLE.name());
+    }
+
+    private int bulkStatus(Long restaurantId, String content) throws Exception {
+        return mockMvc.perform(patch(BULK_STATUS, restaurantId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+            .andReturn().getResponse().getStatus();
+    }
+
+    private Long createRestaurant() {
+        return restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Bulk " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    private Long addItem(Long restaurantId, String name) {
+        return menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest(name, 80.0, Category.VEG)).getId();
+    }
+
+    private String statusOf(Long menuItemId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM menu_items WHERE id = ?", String.class, menuItemId);
+    }
+
+    private static List<Long> longs(String body, String path) {
+        List<Number> values = JsonPath.read(body, path);
+        return values.stream().map(Number::longValue).toList();
+    }
+}
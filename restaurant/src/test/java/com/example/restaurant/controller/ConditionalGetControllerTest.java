@@ -0,0 +1,108 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Revalidation through {@code If-None-Match}: while the menu revision is unchanged the restaurant
+ * and its listing answer 304 with no body, and the listing does not even query the menu; once a
+ * write bumps the revision the tag the client holds gets a full 200 again. The listing cache is
+ * off so every 200 has to run the listing query.
+ */
+@SpringBootTest(properties = "menu.cache.enabled=false")
+class ConditionalGetControllerTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    private MockMvc mockMvc;
+    private Long restaurantId;
+    private Long menuItemId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Revalidated " + UUID.randomUUID(), "Test")).getId();
+        menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Thali", 150.0, Category.VEG)).getId();
+    }
+
+    @Test
+    void restaurantIsNotModifiedUntilItsMenuChanges() {
+        String eTag = perform(get("/api/v1/restaurants/{id}", restaurantId)).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult revalidated = perform(get("/api/v1/restaurants/{id}", restaurantId)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(revalidated.getResponse().getStatus()).isEqualTo(304);
+        assertThat(revalidated.getResponse().getContentLength()).isZero();
+
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Lassi", 60.0, Category.DRINK));
+
+        MvcResult changed = perform(get("/api/v1/restaurants/{id}", restaurantId)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void menuListingIsNotModifiedWithoutQueryingTheMenu() throws Exception {
+        String listing = "/api/v1/restaurants/{id}/menu-items";
+        AtomicReference<MvcResult> first = new AtomicReference<>();
+        List<String> loaded = StatementCounter.capture(() -> first.set(perform(get(listing, restaurantId))));
+        String eTag = first.get().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(first.get().getResponse().getStatus()).isEqualTo(200);
+        assertThat(loaded).anyMatch(sql -> sql.contains("menu_items"));
+
+        AtomicReference<MvcResult> revalidated = new AtomicReference<>();
+        List<String> revalidation = StatementCounter.capture(() -> revalidated.set(
+            perform(get(listing, restaurantId).header(HttpHeaders.IF_NONE_MATCH, eTag))));
+        assertThat(revalidated.get().getResponse().getStatus()).isEqualTo(304);
+        assertThat(revalidated.get().getResponse().getContentAsString()).isEmpty();
+        assertThat(revalidation).noneMatch(sql -> sql.contains("menu_items"));
+
+        menuItemService.updateMenuItemStatus(menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        MvcResult changed = perform(get(listing, restaurantId).header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(changed.getResponse().getContentAsString()).contains("OUT_OF_STOCK");
+    }
+
+    private MvcResult perform(RequestBuilder request) {
+        try {
+            return mockMvc.perform(request).andReturn();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
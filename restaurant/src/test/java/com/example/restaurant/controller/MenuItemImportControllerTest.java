@@ -0,0 +1,129 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk onboarding through both request bodies reports every row: created, already on the menu,
+ * repeated within the import or invalid. The batch size of two makes every import span several
+ * chunks, so duplicates are caught across chunk boundaries, and a name last used by a deleted
+ * item can be imported again.
+ */
+@SpringBootTest(properties = "menu.import.batch-size=2")
+class MenuItemImportControllerTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Bulk Kitchen " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void jsonImportReportsEveryRow() throws Exception {
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Masala Dosa", 90.0, Category.VEG));
+        Long deletedId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Upma", 50.0, Category.VEG)).getId();
+        menuItemService.deleteMenuItem(deletedId);
+
+        mockMvc.perform(post("/api/v1/restaurants/{id}/menu-items/bulk", restaurantId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    [
+                      {"name": "Idli", "price": 40.0, "category": "VEG"},
+                      {"name": "Masala Dosa", "price": 95.0, "category": "VEG"},
+                      {"name": "Idli", "price": 42.0, "category": "VEG"},
+                      {"name": "Broken", "price": -1, "category": "VEG"},
+                      {"name": "Upma", "price": 55.0, "category": "VEG"}
+                    ]
+                    """))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(5))
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.failed").value(3))
+            .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.results[0].id").isNumber())
+            .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"))
+            .andExpect(jsonPath("$.results[1].message").value(startsWith("Menu item with name 'Masala Dosa' already exists")))
+            .andExpect(jsonPath("$.results[2].status").value("DUPLICATE"))
+            .andExpect(jsonPath("$.results[2].message").value("Menu item name is repeated within the import"))
+            .andExpect(jsonPath("$.results[3].row").value(3))
+            .andExpect(jsonPath("$.results[3].status").value("INVALID"))
+            .andExpect(jsonPath("$.results[3].message").value("Price must be greater than 0"))
+            .andExpect(jsonPath("$.results[4].status").value("CREATED"));
+
+        assertThat(menuNames()).containsExactlyInAnyOrder("Masala Dosa", "Idli", "Upma");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM menu_items_archive WHERE restaurant_id = ?", Long.class, restaurantId))
+            .containsExactly(deletedId);
+    }
+
+    @Test
+    void ndjsonImportStreamsRowsAndReportsMalformedLines() throws Exception {
+        mockMvc.perform(post("/api/v1/restaurants/{id}/menu-items/bulk", restaurantId)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                    {"name": "Pongal", "price": 60.0, "category": "VEG"}
+                    {"name": "Kesari", "price": 45.0, "category": "DESSERT"}
+
+                    {"name": "Filter Coffee", "price": 30.0,
+                    {"name": "Chicken 65", "price": 220.0, "category": "NON_VEG"}
+                    {"name": "", "price": 10.0, "category": "DRINK"}
+                    """))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(5))
+            .andExpect(jsonPath("$.created").value(3))
+            .andExpect(jsonPath("$.results[2].row").value(2))
+            .andExpect(jsonPath("$.results[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.results[2].message").value(startsWith("Malformed JSON")))
+            .andExpect(jsonPath("$.results[3].status").value("CREATED"))
+            .andExpect(jsonPath("$.results[4].status").value("INVALID"))
+            .andExpect(jsonPath("$.results[4].message").value("Menu item name is mandatory"));
+
+        assertThat(menuNames()).containsExactlyInAnyOrder("Pongal", "Kesari", "Chicken 65");
+    }
+
+    private List<String> menuNames() {
+        return menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 20)).getContent().stream()
+            .map(MenuItemResponse::getName)
+            .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset scrolling hands out opaque cursors: following them walks a filtered menu exactly once
+ * in id order, even while items are being added, and a cursor the server did not issue is
+ * rejected rather than silently restarting the walk.
+ */
+@SpringBootTest
+class MenuItemScrollControllerTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    private MockMvc mockMvc;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Scroll House " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void followingCursorsWalksTheFilteredMenuToTheEnd() throws Exception {
+        List<Long> vegIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            vegIds.add(add("Veg " + i, Category.VEG));
+            add("Non Veg " + i, Category.NON_VEG);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String body = scroll(cursor);
+            seen.addAll(ids(body));
+            boolean hasNext = JsonPath.read(body, "$.hasNext");
+            cursor = JsonPath.read(body, "$.nextCursor");
+            assertThat(cursor != null).isEqualTo(hasNext);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(vegIds);
+    }
+
+    @Test
+    void itemsAddedBetweenPagesAreNeitherSkippedNorRepeated() throws Exception {
+        List<Long> vegIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            vegIds.add(add("Veg " + i, Category.VEG));
+        }
+
+        String first = scroll(null);
+        vegIds.add(add("Late Veg", Category.VEG));
+        String second = scroll(JsonPath.read(first, "$.nextCursor"));
+
+        List<Long> seen = new ArrayList<>(ids(first));
+        seen.addAll(ids(second));
+        assertThat(seen).containsExactlyElementsOf(vegIds);
+        assertThat((Boolean) JsonPath.read(second, "$.hasNext")).isFalse();
+    }
+
+    @Test
+    void cursorsTheServerDidNotIssueAreRejected() throws Exception {
+        String wrongPrefix = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("offset:3".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("id:three".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("not*base64!", wrongPrefix, notANumber)) {
+            mockMvc.perform(get("/api/v1/restaurants/{id}/menu-items/scroll", restaurantId)
+                    .param("after", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_CURSOR"));
+        }
+    }
+
+    private Long add(String name, Category category) {
+        return menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest(name, 10.0, category)).getId();
+    }
+
+    private String scroll(String cursor) throws Exception {
+        var request = get("/api/v1/restaurants/{id}/menu-items/scroll", restaurantId)
+            .param("category", "VEG")
+            .param("size", "3");
+        if (cursor != null) {
+            request.param("after", cursor);
+        }
+        return mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<Long> ids(String body) {
+        List<Number> ids = JsonPath.read(body, "$.content[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
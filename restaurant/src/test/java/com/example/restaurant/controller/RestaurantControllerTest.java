@@ -0,0 +1,111 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A client sends back whichever tag the restaurant endpoints gave it: the revision tag of the GET
+ * or the version tag of the last PATCH both guard the next status change, and either fails once
+ * the restaurant or, for the revision tag, its menu has moved on.
+ */
+@SpringBootTest
+class RestaurantControllerTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Round Trip " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void etagFromGetGuardsTheStatusChange() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/restaurants/{id}", restaurantId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String versionTag = mockMvc.perform(statusChange(false).header(HttpHeaders.IF_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.open").value(false))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(statusChange(true).header(HttpHeaders.IF_MATCH, eTag))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(statusChange(true).header(HttpHeaders.IF_MATCH, versionTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.open").value(true));
+    }
+
+    @Test
+    void etagFromGetFailsOnceTheMenuChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/restaurants/{id}", restaurantId))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Vada Pav", 25.0, Category.VEG));
+
+        mockMvc.perform(statusChange(false).header(HttpHeaders.IF_MATCH, eTag))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/v1/restaurants/{id}", restaurantId))
+            .andExpect(jsonPath("$.open").value(true))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + restaurantId + ".1\""));
+    }
+
+    @Test
+    void restaurantWithoutRevisionRowStartsAtRevisionZero() throws Exception {
+        jdbcTemplate.update("DELETE FROM menu_revisions WHERE restaurant_id = ?", restaurantId);
+        String eTag = mockMvc.perform(get("/api/v1/restaurants/{id}", restaurantId))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + restaurantId + ".0\""))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(statusChange(false).header(HttpHeaders.IF_MATCH, eTag))
+            .andExpect(status().isOk());
+        jdbcTemplate.update("DELETE FROM menu_revisions WHERE restaurant_id = ?", restaurantId);
+        mockMvc.perform(statusChange(true))
+            .andExpect(status().isOk());
+
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(1);
+    }
+
+    private MockHttpServletRequestBuilder statusChange(boolean open) {
+        return patch("/api/v1/restaurants/{id}/status", restaurantId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"isOpen\":" + open + "}");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.restaurant.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against separate in-memory H2 databases, so {@code DATABASE()} tells which one served
+ * each transaction.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "menu.datasource.replicas[0].jdbc-url=jdbc:h2:mem:routing-replica-a;DB_CLOSE_DELAY=-1",
+    "menu.datasource.replicas[0].username=sa",
+    "menu.datasource.replicas[1].jdbc-url=jdbc:h2:mem:routing-replica-b;DB_CLOSE_DELAY=-1",
+    "menu.datasource.replicas[1].username=sa"
+})
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY = "ROUTING-PRIMARY";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Test
+    void readOnlyTransactionsAreBalancedAcrossReplicas() {
+        Set<String> databases = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            databases.add(readOnlyDatabase());
+        }
+
+        assertThat(databases).containsExactlyInAnyOrder("ROUTING-REPLICA-A", "ROUTING-REPLICA-B");
+    }
+
+    @Test
+    void readWriteTransactionsAndPlainConnectionsUseThePrimary() {
+        assertThat(readWriteDatabase()).isEqualTo(PRIMARY);
+        assertThat(currentDatabase()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void pinnedReadOnlyTransactionsUseThePrimary() {
+        String database = ReadYourWrites.onPrimary(this::readOnlyDatabase);
+
+        assertThat(database).isEqualTo(PRIMARY);
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    @Test
+    void mutatingRequestPinsTheClientUntilTheCookieExpires() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5));
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/v1/restaurants"), writeResponse, null);
+        assertThat(ReadYourWrites.isPinned()).isTrue();
+        interceptor.afterCompletion(null, writeResponse, null, null);
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+        assertThat(writeResponse.getHeader(HttpHeaders.SET_COOKIE))
+            .startsWith(ReadYourWritesInterceptor.COOKIE_NAME + "=")
+            .contains("Max-Age=5");
+
+        MockHttpServletRequest followUp = new MockHttpServletRequest("GET", "/api/v1/restaurants/1");
+        followUp.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, "1"));
+        interceptor.preHandle(followUp, new MockHttpServletResponse(), null);
+        try {
+            assertThat(readOnlyDatabase()).isEqualTo(PRIMARY);
+        } finally {
+            interceptor.afterCompletion(followUp, null, null, null);
+        }
+
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/restaurants/1"), new MockHttpServletResponse(), null);
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    private String readOnlyDatabase() {
+        return readOnlyTransactionTemplate.execute(status -> currentDatabase());
+    }
+
+    private String readWriteDatabase() {
+        return transactionTemplate.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
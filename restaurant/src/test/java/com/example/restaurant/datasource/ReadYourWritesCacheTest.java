@@ -0,0 +1,111 @@
+package com.example.restaurant.datasource;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is a separate in-memory H2 database that is only copied from the primary when a
+ * test says so, and falls behind in between. A client that just wrote is pinned to the primary and
+ * must see its write even after unpinned readers have read the lagging replica, and those readers
+ * must see it too once the replica catches up rather than stale pages they left in the caches.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:lagging-primary;DB_CLOSE_DELAY=-1",
+    "menu.datasource.replicas[0].jdbc-url=jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1",
+    "menu.datasource.replicas[0].username=sa",
+    "menu.datasource.h2-replication-interval=1h"
+})
+class ReadYourWritesCacheTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private H2ReplicaCopier replicaCopier;
+
+    private Long restaurantId;
+    private Long menuItemId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Lagging Kitchen " + UUID.randomUUID(), "Test")).getId();
+        menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Misal Pav", 70.0, Category.VEG)).getId();
+        replicaCopier.replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+    }
+
+    @Test
+    void pinnedClientSeesItsWriteBehindCachesFilledFromTheReplica() {
+        assertThat(listedStatus()).isEqualTo(Status.AVAILABLE);
+
+        long revision = restaurantService.getMenuRevision(restaurantId);
+
+        ReadYourWrites.onPrimary(() -> menuItemService.updateMenuItemStatus(
+            menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK)));
+
+        assertThat(listedStatus()).isEqualTo(Status.AVAILABLE);
+        assertThat(scrolledStatus()).isEqualTo(Status.AVAILABLE);
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(revision);
+
+        ReadYourWrites.pin();
+        assertThat(listedStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(scrolledStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(revision + 1);
+    }
+
+    @Test
+    void replicaReadsDoNotOutliveTheLagInTheCaches() throws Exception {
+        long revision = restaurantService.getMenuRevision(restaurantId);
+
+        ReadYourWrites.onPrimary(() -> menuItemService.updateMenuItemStatus(
+            menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK)));
+        assertThat(listedStatus()).isEqualTo(Status.AVAILABLE);
+        assertThat(scrolledStatus()).isEqualTo(Status.AVAILABLE);
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(revision);
+
+        replicaCopier.replicate();
+
+        assertThat(listedStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(scrolledStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(restaurantService.getMenuRevision(restaurantId)).isEqualTo(revision + 1);
+    }
+
+    private Status listedStatus() {
+        List<MenuItemResponse> items = menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10))
+            .getContent();
+        assertThat(items).hasSize(1);
+        return items.get(0).getStatus();
+    }
+
+    private Status scrolledStatus() {
+        List<MenuItemResponse> items = menuItemService.scrollMenuItems(restaurantId, null, null, null, 10).getContent();
+        assertThat(items).hasSize(1);
+        return items.get(0).getStatus();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.restaurant.event;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuEventResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.MenuEventType;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuEventRepository;
+import com.example.restaurant.repository.MenuEventSequenceRepository;
+import com.example.restaurant.service.MenuItemImportService;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Menu changes land in the outbox with their transaction, rolled-back changes leave no event, and
+ * the relay publishes them in commit order for consumers to resume from. Bulk imports, which
+ * clear the persistence context after every chunk, record one event per created item. The small
+ * import batch size makes the import span several chunks. Relays of several instances sharing the
+ * database take turns on the sequence row instead of handing out the same numbers.
+ */
+@SpringBootTest(properties = "menu.import.batch-size=2")
+class MenuEventOutboxTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuEventRelay menuEventRelay;
+
+    @Autowired
+    private MenuEventStream menuEventStream;
+
+    @Autowired
+    private MenuEventRepository menuEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MenuItemImportService menuItemImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MenuEventSequenceRepository menuEventSequenceRepository;
+
+    @Test
+    void publishesCommittedChangesInOrderAndSkipsRolledBackOnes() throws Exception {
+        Long restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Outbox " + UUID.randomUUID(), "Test")).getId();
+        Long menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Paneer Tikka", 249.0, Category.VEG)).getId();
+        transactionTemplate.executeWithoutResult(tx -> {
+            menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Rolled Back", 99.0, Category.VEG));
+            tx.setRollbackOnly();
+        });
+        menuItemService.updateMenuItemStatus(menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        menuItemService.deleteMenuItem(menuItemId);
+        restaurantService.updateRestaurantStatus(restaurantId, new UpdateRestaurantStatusRequest(false));
+
+        menuEventRelay.publishPending();
+
+        List<MenuEventResponse> events = menuEventRepository.findPublishedAfterForRestaurant(
+            restaurantId, 0, Limit.of(100));
+        assertThat(events).extracting(MenuEventResponse::getType).containsExactly(
+            MenuEventType.MENU_ITEM_CREATED,
+            MenuEventType.MENU_ITEM_STATUS_CHANGED,
+            MenuEventType.MENU_ITEM_DELETED,
+            MenuEventType.RESTAURANT_CLOSED);
+        assertThat(events).extracting(MenuEventResponse::getSequence).isSorted().doesNotContainNull();
+        assertThat(events.get(1).getPayload()).contains("\"status\":\"OUT_OF_STOCK\"");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        menuEventStream.writeNdjson(events.get(0).getSequence(), restaurantId, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8).lines())
+            .hasSize(3)
+            .first().asString().contains("\"type\":\"MENU_ITEM_STATUS_CHANGED\"");
+    }
+
+    @Test
+    void bulkImportRecordsAndRelaysOneEventPerCreatedItem() {
+        Long restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Outbox Import " + UUID.randomUUID(), "Test")).getId();
+
+        menuItemImportService.importMenuItems(restaurantId, List.of(
+            new CreateMenuItemRequest("Idli", 40.0, Category.VEG),
+            new CreateMenuItemRequest("Vada", 45.0, Category.VEG),
+            new CreateMenuItemRequest("Idli", 40.0, Category.VEG),
+            new CreateMenuItemRequest("Kesari", 50.0, Category.DESSERT),
+            new CreateMenuItemRequest("Coffee", 30.0, Category.DRINK)));
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM menu_events WHERE restaurant_id = ? AND type = 'MENU_ITEM_CREATED'",
+            Long.class, restaurantId)).isEqualTo(4);
+
+        menuEventRelay.publishPending();
+
+        assertThat(menuEventRepository.findPublishedAfterForRestaurant(restaurantId, 0, Limit.of(100)))
+            .extracting(MenuEventResponse::getPayload)
+            .hasSize(4)
+            .anySatisfy(payload -> assertThat(payload).contains("\"name\":\"Kesari\""));
+    }
+
+    @Test
+    void relaysOfTwoInstancesNeverHandOutTheSameNumber() {
+        Long restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Outbox Relays " + UUID.randomUUID(), "Test")).getId();
+        for (int i = 0; i < 20; i++) {
+            menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Dish " + i, 10.0 + i, Category.VEG));
+        }
+        MenuEventRelay otherInstance = new MenuEventRelay(
+            menuEventRepository, menuEventSequenceRepository, transactionTemplate, menuEventStream, 3);
+        try {
+            CompletableFuture.allOf(
+                CompletableFuture.runAsync(menuEventRelay::publishPending),
+                CompletableFuture.runAsync(otherInstance::publishPending)).join();
+        } finally {
+            otherInstance.shutdown();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM menu_events WHERE sequence_number IS NULL", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT MAX(sequence_number) - COUNT(*) FROM menu_events", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each {@link MenuItemRepository} query, captures the SQL Hibernate generates for it,
+ * count queries included, and runs H2 {@code EXPLAIN} on every statement. Fails if a plan falls
+ * back to a table scan instead of the expected index.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MenuItemRepositoryQueryPlanTest {
+
+    private static final String[] CATEGORIES = {"VEG", "NON_VEG", "DESSERT", "DRINK"};
+    private static final String[] STATUSES = {"AVAILABLE", "OUT_OF_STOCK"};
+
+    /** Second page, so Spring Data always runs the count query as well. */
+    private static final Pageable PAGE = PageRequest.of(1, 10);
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private Long restaurantId;
+    private Long menuItemId;
+
+    /**
+     * H2 costs every index the same on an empty table, so seed enough rows for the optimizer to
+     * prefer the most selective index, the way it would against real data.
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO restaurants (name, location, is_open) VALUES ('Query Plan Kitchen', 'Test', TRUE)");
+        restaurantId = jdbcTemplate.queryForObject(
+            "SELECT id FROM restaurants WHERE name = 'Query Plan Kitchen'", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(new Object[] {"plan-item-" + i, 10.0 + i % 50, CATEGORIES[i % CATEGORIES.length],
+                STATUSES[(i / CATEGORIES.length) % STATUSES.length], restaurantId, i % 5 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, price, category, status, restaurant_id, deleted) "
+            + "VALUES (NEXT VALUE FOR menu_items_seq, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE menu_items");
+        menuItemId = jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM menu_items WHERE restaurant_id = ? AND deleted = FALSE", Long.class, restaurantId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM menu_items WHERE restaurant_id = ?", restaurantId);
+        jdbcTemplate.update("DELETE FROM restaurants WHERE id = ?", restaurantId);
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+            query("findByRestaurantId",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantId(restaurantId, PAGE),
+                "IDX_MENU_ITEMS_RESTAURANT:"),
+            query("findByRestaurantIdAndCategory",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndCategory(
+                    restaurantId, Category.VEG, PAGE),
+                "IDX_MENU_ITEMS_RESTAURANT_CATEGORY:"),
+            query("findByRestaurantIdAndStatus",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndStatus(
+                    restaurantId, Status.AVAILABLE, PAGE),
+                "IDX_MENU_ITEMS_RESTAURANT_STATUS:"),
+            query("findByRestaurantIdAndCategoryAndStatus",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndCategoryAndStatus(
+                    restaurantId, Category.VEG, Status.AVAILABLE, PAGE),
+                "IDX_MENU_ITEMS_RESTAURANT_CATEGORY_STATUS:"),
+            query("findByRestaurantIdAfter",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAfter(
+                    restaurantId, menuItemId, Limit.of(11)),
+                "IDX_MENU_ITEMS_RESTAURANT:"),
+            query("findByRestaurantIdAndCategoryAfter",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndCategoryAfter(
+                    restaurantId, Category.VEG, menuItemId, Limit.of(11)),
+                "IDX_MENU_ITEMS_RESTAURANT_CATEGORY:"),
+            query("findByRestaurantIdAndStatusAfter",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndStatusAfter(
+                    restaurantId, Status.AVAILABLE, menuItemId, Limit.of(11)),
+                "IDX_MENU_ITEMS_RESTAURANT_STATUS:"),
+            query("findByRestaurantIdAndCategoryAndStatusAfter",
+                (repository, restaurantId, menuItemId) -> repository.findByRestaurantIdAndCategoryAndStatusAfter(
+                    restaurantId, Category.VEG, Status.AVAILABLE, menuItemId, Limit.of(11)),
+                "IDX_MENU_ITEMS_RESTAURANT_CATEGORY_STATUS:"),
+            query("streamByRestaurantId",
+                (repository, restaurantId, menuItemId) -> {
+                    try (Stream<?> items = repository.streamByRestaurantId(restaurantId)) {
+                        items.findFirst();
+                    }
+                },
+                "IDX_MENU_ITEMS_RESTAURANT"),
+            query("findByIdAndNotDeleted",
+                (repository, restaurantId, menuItemId) -> repository.findByIdAndNotDeleted(menuItemId),
+                "PRIMARY_KEY"),
+            query("findResponseById",
+                (repository, restaurantId, menuItemId) -> repository.findResponseById(menuItemId),
+                "PRIMARY_KEY"),
+            query("findResponsesByIdIn",
+                (repository, restaurantId, menuItemId) -> repository.findResponsesByIdIn(
+                    List.of(menuItemId, menuItemId + 1, menuItemId + 2)),
+                "PRIMARY_KEY"),
+            query("findStatusViewsByRestaurantIdAndIdIn",
+                (repository, restaurantId, menuItemId) -> repository.findStatusViewsByRestaurantIdAndIdIn(
+                    restaurantId, List.of(menuItemId, menuItemId + 1, menuItemId + 2)),
+                "PRIMARY_KEY"),
+            query("findStatusViewsByRestaurantIdAndCategory",
+                (repository, restaurantId, menuItemId) -> repository.findStatusViewsByRestaurantIdAndCategory(
+                    restaurantId, Category.VEG),
+                "IDX_MENU_ITEMS_RESTAURANT_CATEGORY"),
+            query("countByRestaurantIdIn",
+                (repository, restaurantId, menuItemId) -> repository.countByRestaurantIdIn(List.of(restaurantId, -1L)),
+                "IDX_MENU_ITEMS_RESTAURANT"),
+            query("existsByNameAndRestaurantId",
+                (repository, restaurantId, menuItemId) -> repository.existsByNameAndRestaurantId("Paneer", restaurantId),
+                "UK"),
+            query("findExistingNames",
+                (repository, restaurantId, menuItemId) -> repository.findExistingNames(
+                    restaurantId, List.of("Paneer", "Lassi")),
+                "UK"),
+            query("findDeletedIdsByNameIn",
+                (repository, restaurantId, menuItemId) -> repository.findDeletedIdsByNameIn(
+                    restaurantId, List.of("Paneer", "Lassi")),
+                "UK")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesIndex(String name, RepositoryCall call, String expectedIndex) {
+        List<String> statements = StatementCounter.capture(() -> readOnlyTransactionTemplate.executeWithoutResult(
+            tx -> call.run(menuItemRepository, restaurantId, menuItemId)));
+
+        assertThat(statements).as("statements of %s", name).isNotEmpty();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+            assertThat(plan)
+                .as("plan for %s: %s", name, sql)
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase(expectedIndex);
+        }
+    }
+
+    private static Arguments query(String name, RepositoryCall call, String expectedIndex) {
+        return Arguments.of(name, call, expectedIndex);
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+
+        void run(MenuItemRepository repository, Long restaurantId, Long menuItemId);
+    }
+}
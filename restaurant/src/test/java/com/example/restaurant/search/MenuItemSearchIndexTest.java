@@ -0,0 +1,102 @@
+package com.example.restaurant.search;
+
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.MenuItemSearchResponse;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Matching and maintenance of the search index without a database: outside a transaction every
+ * change applies immediately.
+ */
+class MenuItemSearchIndexTest {
+
+    private MenuItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuItemSearchIndex(null, false, 100);
+        index.indexAll(List.of(
+            item(1L, "Paneer Tikka", Category.VEG, 10L),
+            item(2L, "Paneer Butter Masala", Category.VEG, 10L),
+            item(3L, "Mango Shake", Category.DRINK, 10L),
+            item(4L, "Crème Brûlée", Category.DESSERT, 20L),
+            item(5L, "Mango Lassi", Category.DRINK, 20L)));
+    }
+
+    @Test
+    void ranksExactMatchesBeforePrefixMatchesAndShorterNamesFirst() {
+        assertThat(ids(index.search("mango shake", null, null, null, 10))).containsExactly(3L);
+        assertThat(ids(index.search("paneer", null, null, null, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("man", null, null, null, 10))).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void toleratesOneTypoAndIgnoresAccents() {
+        assertThat(ids(index.search("panner", null, null, null, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("mnago lasi", null, null, null, 10))).containsExactly(5L);
+        assertThat(ids(index.search("creme brulee", null, null, null, 10))).containsExactly(4L);
+    }
+
+    @Test
+    void filtersByRestaurantCategoryAndStatusAndReportsTotalBeyondLimit() {
+        assertThat(ids(index.search("mango", 20L, null, null, 10))).containsExactly(5L);
+        assertThat(ids(index.search("mango", 30L, null, null, 10))).isEmpty();
+        assertThat(ids(index.search("paneer", null, Category.DRINK, null, 10))).isEmpty();
+
+        MenuItemSearchResponse limited = index.search("paneer", null, null, Status.AVAILABLE, 1);
+        assertThat(limited.getTotal()).isEqualTo(2);
+        assertThat(ids(limited)).containsExactly(1L);
+    }
+
+    @Test
+    void appliesStatusChangesRenamesAndRemovals() {
+        index.updateStatus(List.of(1L), Status.OUT_OF_STOCK);
+        index.index(item(3L, "Mango Smoothie", Category.DRINK, 10L));
+        index.remove(5L);
+
+        assertThat(ids(index.search("paneer", null, null, Status.AVAILABLE, 10))).containsExactly(2L);
+        assertThat(ids(index.search("shake", null, null, null, 10))).isEmpty();
+        assertThat(ids(index.search("mango", null, null, null, 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void carriesTheVersionThroughStatusChanges() {
+        index.updateStatus(List.of(1L), Status.OUT_OF_STOCK);
+        MenuItemResponse current = item(2L, "Paneer Butter Masala", Category.VEG, 10L);
+        current.setVersion(3L);
+        index.index(current);
+        MenuItemResponse stale = item(2L, "Paneer Butter Masala", Category.VEG, 10L);
+        stale.setVersion(2L);
+        index.index(stale);
+
+        assertThat(index.search("paneer", null, null, null, 10).getContent())
+            .extracting(MenuItemResponse::getId, MenuItemResponse::getVersion)
+            .containsExactly(tuple(1L, 1L), tuple(2L, 3L));
+    }
+
+    private static List<Long> ids(MenuItemSearchResponse response) {
+        return response.getContent().stream().map(MenuItemResponse::getId).toList();
+    }
+
+    private static MenuItemResponse item(Long id, String name, Category category, Long restaurantId) {
+        return MenuItemResponse.builder()
+            .id(id)
+            .name(name)
+            .price(100.0)
+            .category(category)
+            .status(Status.AVAILABLE)
+            .restaurantId(restaurantId)
+            .restaurantName("Restaurant " + restaurantId)
+            .version(0L)
+            .build();
+    }
+}
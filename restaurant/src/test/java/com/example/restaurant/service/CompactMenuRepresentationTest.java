@@ -0,0 +1,60 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.CompactMenuResponse;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compact listing names the restaurant once, writes items as positional arrays with enum
+ * codes, and shrinks further as CBOR.
+ */
+@SpringBootTest
+class CompactMenuRepresentationTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Test
+    void writesRestaurantOnceAndItemsAsArrays() {
+        Long restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Compact Kitchen", "Test")).getId();
+        Long samosa = menuItemService.addMenuItem(restaurantId,
+            new CreateMenuItemRequest("Samosa", 40.0, Category.VEG)).getId();
+        Long lassi = menuItemService.addMenuItem(restaurantId,
+            new CreateMenuItemRequest("Lassi", 60.5, Category.DRINK)).getId();
+        menuItemService.updateMenuItemStatus(lassi, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        CompactMenuResponse page = menuItemService.getCompactMenuItems(restaurantId, null, null, PageRequest.of(0, 10));
+        CompactMenuResponse slice = menuItemService.scrollCompactMenuItems(restaurantId, null, null, null, 1);
+
+        assertThat(jsonMapper.writeValueAsString(page)).isEqualTo(
+            "{\"restaurantId\":" + restaurantId + ",\"restaurantName\":\"Compact Kitchen\",\"items\":["
+                + "[" + samosa + ",\"Samosa\",40.0,\"V\",\"A\"],"
+                + "[" + lassi + ",\"Lassi\",60.5,\"K\",\"O\"]],\"total\":2}");
+        assertThat(slice.getItems()).extracting(CompactMenuResponse.Item::id).containsExactly(samosa);
+        assertThat(slice.getNext()).isNotNull();
+        assertThat(slice.getTotal()).isNull();
+        assertThat(cborMapper.writeValueAsBytes(page).length)
+            .isLessThan(jsonMapper.writeValueAsBytes(page).length);
+    }
+}
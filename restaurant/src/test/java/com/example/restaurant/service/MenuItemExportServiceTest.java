@@ -0,0 +1,74 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MenuItemExportServiceTest {
+
+    @Autowired
+    private MenuItemExportService menuItemExportService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    private Long restaurantId;
+    private Long deletedId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Export " + UUID.randomUUID(), "Test")).getId();
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Paneer Tikka", 249.0, Category.VEG));
+        menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Fish, \"Chips\"", 199.0, Category.NON_VEG));
+        deletedId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Retired Dish", 99.0, Category.VEG)).getId();
+        menuItemService.deleteMenuItem(deletedId);
+    }
+
+    @Test
+    void exportsLiveItemsAsCsvWithQuotedFields() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = menuItemExportService.export(restaurantId, ExportFormat.CSV, output);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8).lines())
+            .containsExactly(
+                MenuItemExportService.CSV_HEADER,
+                line(1, "Paneer Tikka,249.0,VEG"),
+                line(2, "\"Fish, \"\"Chips\"\"\",199.0,NON_VEG"))
+            .noneMatch(line -> line.contains("Retired Dish"));
+    }
+
+    @Test
+    void exportsLiveItemsAsNdjson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        menuItemExportService.export(restaurantId, ExportFormat.NDJSON, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).lines())
+            .hasSize(2)
+            .allMatch(line -> line.startsWith("{\"id\":") && line.contains("\"restaurantId\":" + restaurantId));
+    }
+
+    private String line(int position, String columns) {
+        return (deletedId - 3 + position) + "," + columns + ",AVAILABLE," + restaurantId + ","
+            + restaurantService.getRestaurantById(restaurantId).getName();
+    }
+}
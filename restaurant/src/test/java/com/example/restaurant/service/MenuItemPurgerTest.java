@@ -0,0 +1,92 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemPurgeResponse;
+import com.example.restaurant.model.enums.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deleted items past retention leave the live table for the archive in batches; recent deletions
+ * stay until they expire, and a deleted item's name can be reused right away.
+ */
+@SpringBootTest(properties = {
+    "menu.purge.retention=1h",
+    "menu.purge.batch-size=2",
+    "menu.purge.batch-pause=0ms"
+})
+class MenuItemPurgerTest {
+
+    @Autowired
+    private MenuItemPurger menuItemPurger;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        menuItemPurger.purge();
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Purge " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void archivesExpiredDeletionsInBatches() {
+        Long kept = add("Rasam");
+        Long recent = add("Upma");
+        Long[] expired = {add("Vada"), add("Pongal"), add("Kesari")};
+        menuItemService.deleteMenuItem(recent);
+        for (Long id : expired) {
+            menuItemService.deleteMenuItem(id);
+            jdbcTemplate.update("UPDATE menu_items SET deleted_at = DATEADD('DAY', -2, deleted_at) WHERE id = ?", id);
+        }
+
+        MenuItemPurgeResponse response = menuItemPurger.purge();
+
+        assertThat(response.getRowsPurged()).isEqualTo(3);
+        assertThat(response.getBatches()).isEqualTo(2);
+        assertThat(liveIds()).containsExactlyInAnyOrder(kept, recent);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM menu_items_archive WHERE restaurant_id = ?", Long.class, restaurantId))
+            .containsExactlyInAnyOrder(expired);
+        assertThat(menuItemPurger.purge().getRowsPurged()).isZero();
+    }
+
+    @Test
+    void reusingADeletedNameArchivesTheDeletedRow() {
+        Long deleted = add("Bisi Bele Bath");
+        menuItemService.deleteMenuItem(deleted);
+
+        Long readded = add("Bisi Bele Bath");
+
+        assertThat(liveIds()).containsExactly(readded);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT name FROM menu_items_archive WHERE id = ?", String.class, deleted))
+            .isEqualTo("Bisi Bele Bath");
+    }
+
+    private Long add(String name) {
+        return menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest(name, 60.0, Category.VEG)).getId();
+    }
+
+    private List<Long> liveIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM menu_items WHERE restaurant_id = ?", Long.class, restaurantId);
+    }
+}
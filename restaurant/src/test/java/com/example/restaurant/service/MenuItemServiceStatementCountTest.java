@@ -0,0 +1,97 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusResponse;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing reads project straight into DTOs: one SELECT with the restaurant joined in, plus a COUNT
+ * only when the page is full, and no separate restaurant lookup. Bulk status changes read the
+ * matched items once and write them with a single UPDATE, a fixed number of menu summary deltas
+ * per (category, status) bucket and a batched outbox insert.
+ */
+@SpringBootTest
+class MenuItemServiceStatementCountTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    private Long restaurantId;
+    private List<Long> menuItemIds;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Statement Count " + UUID.randomUUID(), "Test")).getId();
+        menuItemIds = List.of(
+            menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Paneer Tikka", 249.0, Category.VEG)).getId(),
+            menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Chicken Biryani", 329.0, Category.NON_VEG)).getId(),
+            menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest("Mango Shake", 129.0, Category.DRINK)).getId());
+    }
+
+    @Test
+    void partialPageRunsSingleSelect() {
+        StatementCounter.reset();
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)))
+            .hasSize(3)
+            .allSatisfy(item -> assertThat(item.getRestaurantName()).startsWith("Statement Count"));
+        assertThat(StatementCounter.current()).isEqualTo(1);
+    }
+
+    @Test
+    void fullPageRunsSelectPlusCount() {
+        StatementCounter.reset();
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, Status.AVAILABLE, PageRequest.of(0, 2)).getTotalElements())
+            .isEqualTo(3);
+        assertThat(StatementCounter.current()).isEqualTo(2);
+    }
+
+    @Test
+    void scrollRunsSingleSelect() {
+        StatementCounter.reset();
+
+        assertThat(menuItemService.scrollMenuItems(restaurantId, Category.VEG, null, null, 10).getContent())
+            .hasSize(1);
+        assertThat(StatementCounter.current()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkStatusUpdateRunsSingleUpdate() {
+        menuItemService.updateMenuItemStatuses(restaurantId,
+            new BulkUpdateMenuItemStatusRequest(List.of(menuItemIds.get(2)), null, Status.OUT_OF_STOCK));
+        StatementCounter.reset();
+
+        BulkUpdateMenuItemStatusResponse response = menuItemService.updateMenuItemStatuses(restaurantId,
+            new BulkUpdateMenuItemStatusRequest(List.of(menuItemIds.get(0), menuItemIds.get(1), menuItemIds.get(2), -1L),
+                null, Status.OUT_OF_STOCK));
+
+        assertThat(response.getUpdatedIds()).containsExactlyInAnyOrder(menuItemIds.get(0), menuItemIds.get(1));
+        assertThat(response.getUnchangedIds()).containsExactly(menuItemIds.get(2));
+        assertThat(response.getNotFoundIds()).containsExactly(-1L);
+        // select, update, menu revision bump, one batched outbox insert (plus an outbox id block fetch
+        // whenever the pooled sequence runs out), and per menu summary bucket left (VEG and NON_VEG
+        // available) a delta out and a delta in; the buckets already exist from restaurant creation
+        assertThat(StatementCounter.current()).isBetween(8, 9);
+        assertThat(menuItemService.getMenuItems(restaurantId, null, Status.OUT_OF_STOCK, PageRequest.of(0, 10)))
+            .hasSize(3);
+    }
+}
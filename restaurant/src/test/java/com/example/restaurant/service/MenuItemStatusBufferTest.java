@@ -0,0 +1,168 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A kitchen flips one item many times between two flushes. Reads must show the latest flip at
+ * once, and the database, its version and the event stream must only see what was left standing
+ * when the buffer was flushed. The flush interval is long so the flips reliably share one flush.
+ * Flush failures are exercised on a standalone buffer with a scripted flusher.
+ */
+@SpringBootTest(properties = {
+    "menu.status-buffer.enabled=true",
+    "menu.status-buffer.flush-interval=500ms"
+})
+class MenuItemStatusBufferTest {
+
+    private static final int FLIPS = 21;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long restaurantId;
+    private Long menuItemId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Group Commit " + UUID.randomUUID(), "Test")).getId();
+        menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Masala Dosa", 90.0, Category.VEG)).getId();
+    }
+
+    @Test
+    void acknowledgedFlipsAreVisibleAtOnceAndCoalesced() {
+        long initialVersion = currentMenuItem().getVersion();
+
+        Status status = Status.AVAILABLE;
+        for (int i = 0; i < FLIPS; i++) {
+            status = status == Status.AVAILABLE ? Status.OUT_OF_STOCK : Status.AVAILABLE;
+            MenuItemResponse acknowledged = menuItemService.bufferMenuItemStatus(
+                menuItemId, new UpdateMenuItemStatusRequest(status), false);
+            assertThat(acknowledged.getStatus()).isEqualTo(status);
+            assertThat(acknowledged.getVersion()).isNull();
+        }
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)).getContent())
+            .singleElement()
+            .extracting(MenuItemResponse::getStatus)
+            .isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(menuItemService.getMenuItems(restaurantId, null, Status.OUT_OF_STOCK, PageRequest.of(0, 10))
+                .getContent())
+            .extracting(MenuItemResponse::getId)
+            .containsExactly(menuItemId);
+
+        MenuItemResponse written = currentMenuItem();
+        assertThat(written.getStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(written.getVersion()).isEqualTo(initialVersion + 1);
+        assertThat(statusEvents()).isEqualTo(1);
+        assertThat(menuItemService.hasBufferedStatuses(restaurantId)).isFalse();
+    }
+
+    @Test
+    void durableChangeReturnsTheWrittenRow() {
+        long initialVersion = currentMenuItem().getVersion();
+
+        MenuItemResponse response = menuItemService.bufferMenuItemStatus(
+            menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK), true);
+
+        assertThat(response.getStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(response.getVersion()).isEqualTo(initialVersion + 1);
+        assertThat(currentMenuItem().getStatus()).isEqualTo(Status.OUT_OF_STOCK);
+        assertThat(statusEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void failedFlushIsRetriedWithoutHoldingBackOtherRestaurants() throws Exception {
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        List<List<Long>> committed = new CopyOnWriteArrayList<>();
+        MenuItemStatusBuffer buffer = new MenuItemStatusBuffer(true, Duration.ofMillis(20), 1000, 5, Duration.ofMillis(50));
+        buffer.start(writes -> {
+            if (writes.stream().anyMatch(write -> write.restaurantId() == 1L) && failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("restaurant 1 is unavailable");
+            }
+            committed.add(writes.stream().map(MenuItemStatusBuffer.Write::menuItemId).toList());
+            return writes.stream().collect(Collectors.toMap(MenuItemStatusBuffer.Write::menuItemId,
+                write -> row(write.menuItemId(), write.restaurantId(), write.status(), 2L)));
+        });
+        try {
+            MenuItemStatusBuffer.Buffered failing = buffer.submit(1L, Status.OUT_OF_STOCK,
+                () -> row(1L, 1L, Status.AVAILABLE, 1L));
+            MenuItemStatusBuffer.Buffered other = buffer.submit(2L, Status.OUT_OF_STOCK,
+                () -> row(2L, 2L, Status.AVAILABLE, 1L));
+
+            assertThat(other.awaitFlush().getStatus()).isEqualTo(Status.OUT_OF_STOCK);
+            assertThat(failing.awaitFlush().getVersion()).isEqualTo(2L);
+            assertThat(committed).contains(List.of(2L), List.of(1L));
+            assertThat(buffer.hasPending(1L)).isFalse();
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void changeIsDroppedOnlyAfterItsLastAttempt() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        MenuItemStatusBuffer buffer = new MenuItemStatusBuffer(true, Duration.ofMillis(5), 1000, 3, Duration.ofMillis(20));
+        buffer.start(writes -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("database is down");
+        });
+        try {
+            MenuItemStatusBuffer.Buffered buffered = buffer.submit(1L, Status.OUT_OF_STOCK,
+                () -> row(1L, 1L, Status.AVAILABLE, 1L));
+
+            assertThatThrownBy(buffered::awaitFlush).hasMessage("database is down");
+            assertThat(attempts.get()).isEqualTo(3);
+            assertThat(buffer.hasPending(1L)).isFalse();
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    private static MenuItemResponse row(Long id, Long restaurantId, Status status, Long version) {
+        return new MenuItemResponse(id, "Item " + id, 10.0, Category.VEG, status, restaurantId, "Restaurant", version);
+    }
+
+    private MenuItemResponse currentMenuItem() {
+        return menuItemRepository.findResponseById(menuItemId).orElseThrow();
+    }
+
+    private long statusEvents() {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM menu_events WHERE type = 'MENU_ITEM_STATUS_CHANGED' AND menu_item_id = ?",
+            Long.class, menuItemId);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.cache.MenuItemCache;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Identical listings in flight at the same time share one load, but a listing that starts after
+ * the restaurant's menu changed never joins a load that started before the change.
+ */
+class MenuReadFlightsTest {
+
+    private static final MenuItemCache.Key KEY = MenuItemCache.Key.of(1L, null, null, PageRequest.of(0, 10));
+
+    private final MenuItemCache menuItemCache = new MenuItemCache(false, 100, Duration.ofMinutes(1), "");
+    private final MenuReadFlights menuReadFlights = new MenuReadFlights(menuItemCache, true);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @BeforeEach
+    void bindMetrics() {
+        menuReadFlights.bindTo(registry);
+    }
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Page<MenuItemResponse> page = new PageImpl<>(List.of());
+
+        List<Future<Page<MenuItemResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> menuReadFlights.listing(KEY, blockingLoad(release, loads, page))));
+        }
+        awaitCount("coalesced", 7);
+        release.countDown();
+
+        for (Future<Page<MenuItemResponse>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(page);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+    }
+
+    @Test
+    void readAfterAMenuChangeStartsItsOwnLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Page<MenuItemResponse> before = new PageImpl<>(List.of());
+        Future<Page<MenuItemResponse>> inFlight =
+            executor.submit(() -> menuReadFlights.listing(KEY, blockingLoad(release, loads, before)));
+        awaitCount("executed", 1);
+
+        menuItemCache.evictRestaurant(KEY.restaurantId());
+        Page<MenuItemResponse> after = new PageImpl<>(List.of(MenuItemResponse.builder().id(7L).build()));
+
+        assertThat(menuReadFlights.listing(KEY, () -> after)).isSameAs(after);
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isSameAs(before);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    private static Supplier<Page<MenuItemResponse>> blockingLoad(
+            CountDownLatch release, AtomicInteger loads, Page<MenuItemResponse> page) {
+        return () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return page;
+        };
+    }
+
+    private void awaitCount(String outcome, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    private double count(String outcome) {
+        return registry.get("menu.reads.coalescing")
+            .tag("flight", "listing")
+            .tag("outcome", outcome)
+            .functionCounter()
+            .count();
+    }
+}
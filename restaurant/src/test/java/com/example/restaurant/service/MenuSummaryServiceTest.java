@@ -0,0 +1,130 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuSummaryResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The materialized menu summary follows every add, status change and delete, and the reconciler
+ * repairs it when rows change behind the application's back.
+ */
+@SpringBootTest
+class MenuSummaryServiceTest {
+
+    @Autowired
+    private MenuSummaryService menuSummaryService;
+
+    @Autowired
+    private MenuSummaryReconciler menuSummaryReconciler;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Summary " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void createsBucketsMissingFromRestaurantsThatPredateThem() {
+        jdbcTemplate.update("DELETE FROM menu_summaries WHERE restaurant_id = ?", restaurantId);
+
+        Long dosa = add("Rava Dosa", 110.0, Category.VEG);
+        add("Jigarthanda", 70.0, Category.DRINK);
+        menuItemService.updateMenuItemStatus(dosa, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        MenuSummaryResponse summary = menuSummaryService.getMenuSummary(restaurantId);
+        assertThat(summary.getTotalItems()).isEqualTo(2);
+        assertThat(summary.getAvailableItems()).isEqualTo(1);
+        assertThat(summary.getCategories().get(Category.VEG).getStatuses())
+            .containsEntry(Status.OUT_OF_STOCK, 1L);
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isZero();
+    }
+
+    @Test
+    void followsAddsStatusChangesAndDeletes() {
+        Long samosa = add("Samosa", 40.0, Category.VEG);
+        Long thali = add("Veg Thali", 220.0, Category.VEG);
+        Long kebab = add("Seekh Kebab", 260.0, Category.NON_VEG);
+        add("Kulfi", 80.0, Category.DESSERT);
+
+        menuItemService.updateMenuItemStatus(samosa, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        menuItemService.updateMenuItemStatus(samosa, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        menuItemService.updateMenuItemStatuses(restaurantId,
+            new BulkUpdateMenuItemStatusRequest(List.of(thali, kebab), null, Status.OUT_OF_STOCK));
+        menuItemService.deleteMenuItem(kebab);
+
+        MenuSummaryResponse summary = menuSummaryService.getMenuSummary(restaurantId);
+        assertThat(summary.getTotalItems()).isEqualTo(3);
+        assertThat(summary.getAvailableItems()).isEqualTo(1);
+        assertThat(summary.getMinPrice()).isEqualTo(40.0);
+        assertThat(summary.getMaxPrice()).isEqualTo(220.0);
+        assertThat(summary.getAveragePrice()).isEqualTo(340.0 / 3);
+        assertThat(summary.getCategories().get(Category.VEG).getStatuses())
+            .containsEntry(Status.AVAILABLE, 0L)
+            .containsEntry(Status.OUT_OF_STOCK, 2L);
+        assertThat(summary.getCategories().get(Category.NON_VEG).getTotal()).isZero();
+
+        menuItemService.deleteMenuItem(thali);
+        assertThat(menuSummaryService.getMenuSummary(restaurantId).getMaxPrice()).isEqualTo(80.0);
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isZero();
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        add("Pav Bhaji", 120.0, Category.VEG);
+        jdbcTemplate.update("INSERT INTO menu_items (id, name, price, category, status, restaurant_id, deleted) "
+            + "VALUES (NEXT VALUE FOR menu_items_seq, 'Imported Lassi', 60.0, 'DRINK', 'AVAILABLE', ?, FALSE)", restaurantId);
+        jdbcTemplate.update("UPDATE menu_summaries SET item_count = 5 WHERE restaurant_id = ? AND category = 'VEG'",
+            restaurantId);
+
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isEqualTo(1);
+
+        MenuSummaryResponse summary = menuSummaryService.getMenuSummary(restaurantId);
+        assertThat(summary.getTotalItems()).isEqualTo(2);
+        assertThat(summary.getMinPrice()).isEqualTo(60.0);
+        assertThat(summary.getCategories().get(Category.DRINK).getAvailable()).isEqualTo(1);
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isZero();
+    }
+
+    @Test
+    void reconcileCreatesMissingBuckets() {
+        add("Idli", 50.0, Category.VEG);
+        jdbcTemplate.update("DELETE FROM menu_summaries WHERE restaurant_id = ? AND category <> 'VEG'", restaurantId);
+
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM menu_summaries WHERE restaurant_id = ?",
+            Long.class, restaurantId)).isEqualTo(Category.values().length * Status.values().length);
+
+        add("Filter Coffee", 30.0, Category.DRINK);
+        assertThat(menuSummaryService.getMenuSummary(restaurantId).getTotalItems()).isEqualTo(2);
+        assertThat(menuSummaryReconciler.reconcile().getRestaurantsRepaired()).isZero();
+    }
+
+    private Long add(String name, double price, Category category) {
+        return menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest(name, price, category)).getId();
+    }
+}
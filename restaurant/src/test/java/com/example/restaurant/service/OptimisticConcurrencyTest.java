@@ -0,0 +1,206 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.exception.PreconditionFailedException;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.RestaurantResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.UpdateRestaurantStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many clients flip the status of one hot row at once. Every change the service applied must
+ * show up as exactly one version step, and the menu summary, which moves counts from the status
+ * each writer read to the one it wrote, must still agree with the table: two writers applying a
+ * change on top of the same read would break both. Throughput and conflicts are printed per run.
+ */
+@SpringBootTest(properties = "menu.concurrency.status-update-attempts=5")
+class OptimisticConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int FLIPS_PER_THREAD = 25;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuSummaryService menuSummaryService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    private Long restaurantId;
+    private Long menuItemId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Contention " + UUID.randomUUID(), "Test")).getId();
+        menuItemId = menuItemService.addMenuItem(
+            restaurantId, new CreateMenuItemRequest("Filter Coffee", 30.0, Category.DRINK)).getId();
+    }
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void conditionalMenuItemFlipsLoseNoUpdates() throws Exception {
+        Run run = contend("menu item, If-Match", () -> {
+            MenuItemResponse current = currentMenuItem();
+            menuItemService.updateMenuItemStatus(menuItemId,
+                new UpdateMenuItemStatusRequest(flip(current.getStatus())), current.getVersion());
+        });
+
+        assertNoLostMenuItemUpdates(run);
+    }
+
+    @Test
+    void retriedMenuItemFlipsLoseNoUpdates() throws Exception {
+        Run run = contend("menu item, retried", () -> menuItemService.updateMenuItemStatus(menuItemId,
+            new UpdateMenuItemStatusRequest(flip(currentMenuItem().getStatus()))));
+
+        assertNoLostMenuItemUpdates(run);
+    }
+
+    @Test
+    void conditionalRestaurantFlipsLoseNoUpdates() throws Exception {
+        Run run = contend("restaurant, If-Match", () -> {
+            RestaurantResponse current = restaurantService.getRestaurantById(restaurantId);
+            restaurantService.updateRestaurantStatus(restaurantId,
+                new UpdateRestaurantStatusRequest(!current.isOpen()), current.getVersion());
+        });
+
+        long applied = countEvents("restaurant_id = ? AND type IN ('RESTAURANT_OPENED', 'RESTAURANT_CLOSED')", restaurantId);
+        long versionSteps = restaurantService.getRestaurantById(restaurantId).getVersion();
+        run.report(applied, applied - versionSteps);
+        assertThat(applied).isPositive();
+        assertThat(applied).isEqualTo(versionSteps);
+    }
+
+    @Test
+    void concurrentFirstMenuWritesAllCommit() throws Exception {
+        Long fresh = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("First Writes " + UUID.randomUUID(), "Test")).getId();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String name = "Dish " + i;
+            workers.add(executor.submit(() -> {
+                start.await();
+                return menuItemService.addMenuItem(fresh, new CreateMenuItemRequest(name, 50.0, Category.VEG));
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+
+        assertThat(restaurantService.getMenuRevision(fresh)).isEqualTo(THREADS);
+        assertThat(menuSummaryService.getMenuSummary(fresh).getAvailableItems()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void staleIfMatchFailsTheConditionalUpdate() {
+        long seen = currentMenuItem().getVersion();
+        menuItemService.updateMenuItemStatus(menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        assertThatThrownBy(() -> menuItemService.updateMenuItemStatus(
+                menuItemId, new UpdateMenuItemStatusRequest(Status.AVAILABLE), seen))
+            .isInstanceOf(PreconditionFailedException.class);
+        assertThat(menuItemService.updateMenuItemStatus(
+                menuItemId, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK), seen).getVersion())
+            .isEqualTo(seen + 1);
+    }
+
+    private void assertNoLostMenuItemUpdates(Run run) {
+        MenuItemResponse last = currentMenuItem();
+        long applied = countEvents("menu_item_id = ? AND type = 'MENU_ITEM_STATUS_CHANGED'", menuItemId);
+        long summarized = menuSummaryService.getMenuSummary(restaurantId).getAvailableItems();
+        long drift = Math.abs(summarized - (last.getStatus() == Status.AVAILABLE ? 1 : 0));
+        run.report(applied, applied - last.getVersion() + drift);
+
+        assertThat(applied).isPositive();
+        assertThat(applied).isEqualTo(last.getVersion());
+        assertThat(drift).isZero();
+    }
+
+    private Run contend(String name, Runnable flip) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int n = 0; n < FLIPS_PER_THREAD; n++) {
+                    try {
+                        flip.run();
+                    } catch (PreconditionFailedException ex) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        return new Run(name, System.nanoTime() - began, conflicts.get());
+    }
+
+    private MenuItemResponse currentMenuItem() {
+        return menuItemRepository.findResponseById(menuItemId).orElseThrow();
+    }
+
+    private long countEvents(String where, Long id) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM menu_events WHERE " + where, Long.class, id);
+        return count == null ? 0 : count;
+    }
+
+    private static Status flip(Status status) {
+        return status == Status.AVAILABLE ? Status.OUT_OF_STOCK : Status.AVAILABLE;
+    }
+
+    private record Run(String name, long nanos, int conflicts) {
+
+        void report(long applied, long lostUpdates) {
+            int requests = THREADS * FLIPS_PER_THREAD;
+            System.out.printf("%s: %d requests in %d ms (%.0f/s), %d applied, %d conflicts (412), %d lost updates%n",
+                name, requests, TimeUnit.NANOSECONDS.toMillis(nanos),
+                requests / (nanos / 1e9), applied, conflicts, lostUpdates);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.RestaurantBatchResponse;
+import com.example.restaurant.model.dto.RestaurantSummaryResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A batch of restaurants costs one restaurant projection and one grouped count per chunk of ids,
+ * however many restaurants it names, and comes back in request order.
+ */
+@SpringBootTest
+class RestaurantBatchServiceTest {
+
+    @Autowired
+    private RestaurantBatchService restaurantBatchService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Test
+    void fetchesRestaurantsAndMenuSummariesWithTwoStatements() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(restaurantService.createRestaurant(
+                new CreateRestaurantRequest("Batch " + i + " " + UUID.randomUUID(), "Test")).getId());
+        }
+        Long first = ids.get(0);
+        menuItemService.addMenuItem(first, new CreateMenuItemRequest("Idli", 59.0, Category.VEG));
+        menuItemService.addMenuItem(first, new CreateMenuItemRequest("Vada", 49.0, Category.VEG));
+        Long soldOut = menuItemService.addMenuItem(first, new CreateMenuItemRequest("Rasmalai", 99.0, Category.DESSERT)).getId();
+        menuItemService.updateMenuItemStatus(soldOut, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        List<Long> reversed = new ArrayList<>(ids);
+        Collections.reverse(reversed);
+        List<Long> requested = new ArrayList<>(reversed);
+        requested.add(-1L);
+        requested.add(first);
+        StatementCounter.reset();
+
+        RestaurantBatchResponse response = restaurantBatchService.getRestaurants(requested);
+
+        assertThat(StatementCounter.current()).isEqualTo(2);
+        assertThat(response.getNotFoundIds()).containsExactly(-1L);
+        assertThat(response.getRestaurants()).extracting(summary -> summary.getRestaurant().getId())
+            .containsExactlyElementsOf(reversed);
+        RestaurantSummaryResponse summary = response.getRestaurants().get(ids.size() - 1);
+        assertThat(summary.getRestaurant().getMenuRevision()).isEqualTo(4);
+        assertThat(summary.getMenu().getTotalItems()).isEqualTo(3);
+        assertThat(summary.getMenu().getAvailableItems()).isEqualTo(2);
+        assertThat(summary.getMenu().getMinPrice()).isEqualTo(49.0);
+        assertThat(summary.getMenu().getCategories().get(Category.VEG))
+            .satisfies(count -> assertThat(count.getTotal()).isEqualTo(2))
+            .satisfies(count -> assertThat(count.getAvailable()).isEqualTo(2));
+        assertThat(summary.getMenu().getCategories().get(Category.DESSERT).getStatuses())
+            .containsEntry(Status.AVAILABLE, 0L)
+            .containsEntry(Status.OUT_OF_STOCK, 1L);
+        assertThat(summary.getMenu().getCategories().get(Category.DRINK).getTotal()).isZero();
+        assertThat(response.getRestaurants().get(0).getMenu().getTotalItems()).isZero();
+    }
+}
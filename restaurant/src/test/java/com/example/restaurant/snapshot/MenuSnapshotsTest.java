@@ -0,0 +1,209 @@
+package com.example.restaurant.snapshot;
+
+import com.example.restaurant.metrics.StatementCounter;
+import com.example.restaurant.model.dto.BulkUpdateMenuItemStatusRequest;
+import com.example.restaurant.model.dto.CreateMenuItemRequest;
+import com.example.restaurant.model.dto.CreateRestaurantRequest;
+import com.example.restaurant.model.dto.MenuItemResponse;
+import com.example.restaurant.model.dto.UpdateMenuItemStatusRequest;
+import com.example.restaurant.model.enums.Category;
+import com.example.restaurant.model.enums.Status;
+import com.example.restaurant.repository.MenuItemRepository;
+import com.example.restaurant.service.MenuItemService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * With snapshots on, listings match what the offset queries return, row for row and total for
+ * total, without running a statement, and follow committed menu changes only. A change is visible
+ * to the next read even before the background reload lands, a failed reload is retried by the
+ * maintenance pass, and names of deleted items are compacted out of the string table.
+ */
+@SpringBootTest(properties = "menu.snapshot.enabled=true")
+class MenuSnapshotsTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MenuSnapshots menuSnapshots;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(
+            new CreateRestaurantRequest("Snapshot " + UUID.randomUUID(), "Test")).getId();
+    }
+
+    @Test
+    void listingsMatchTheQueriesWithoutTouchingTheDatabase() throws InterruptedException {
+        Long dosa = add("Masala Dosa", 149.5, Category.VEG);
+        Long biryani = add("Chicken Biryani", 329.0, Category.NON_VEG);
+        add("Gulab Jamun", 89.99, Category.DESSERT);
+        add("Paneer Tikka", 249.0, Category.VEG);
+        add("Filter Coffee", 30.0, Category.DRINK);
+        Long deleted = add("Veg Pulao", 179.0, Category.VEG);
+        menuItemService.updateMenuItemStatus(dosa, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+        menuItemService.updateMenuItemStatuses(restaurantId,
+            new BulkUpdateMenuItemStatusRequest(List.of(biryani), null, Status.OUT_OF_STOCK));
+        menuItemService.deleteMenuItem(deleted);
+        menuSnapshots.awaitRefreshes();
+
+        for (Category category : new Category[] {null, Category.VEG, Category.DRINK}) {
+            for (Status status : new Status[] {null, Status.OUT_OF_STOCK}) {
+                for (PageRequest page : List.of(PageRequest.of(0, 2), PageRequest.of(1, 2), PageRequest.of(0, 10))) {
+                    StatementCounter.reset();
+                    Page<MenuItemResponse> fromSnapshot = menuItemService.getMenuItems(restaurantId, category, status, page);
+                    assertThat(StatementCounter.current()).isZero();
+                    assertThat(fromSnapshot.getContent()).isEqualTo(query(category, status, page).getContent());
+                    assertThat(fromSnapshot.getTotalElements()).isEqualTo(query(category, status, page).getTotalElements());
+                }
+            }
+        }
+    }
+
+    @Test
+    void rolledBackChangesNeverReachTheSnapshot() {
+        add("Masala Dosa", 149.0, Category.VEG);
+        transactionTemplate.executeWithoutResult(tx -> {
+            add("Rolled Back", 99.0, Category.VEG);
+            tx.setRollbackOnly();
+        });
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)).getContent())
+            .extracting(MenuItemResponse::getName)
+            .containsExactly("Masala Dosa");
+    }
+
+    @Test
+    void pricesWithoutAnExactMinorUnitAreLeftToTheDatabase() {
+        add("Saffron Kulfi", 99.995, Category.DESSERT);
+        StatementCounter.reset();
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)).getContent())
+            .extracting(MenuItemResponse::getPrice)
+            .containsExactly(99.995);
+        assertThat(StatementCounter.current()).isPositive();
+    }
+
+    @Test
+    void changeIsVisibleBeforeTheReloadLands() throws InterruptedException {
+        Long dosa = add("Masala Dosa", 149.0, Category.VEG);
+        menuSnapshots.awaitRefreshes();
+
+        menuItemService.updateMenuItemStatus(dosa, new UpdateMenuItemStatusRequest(Status.OUT_OF_STOCK));
+
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)).getContent())
+            .extracting(MenuItemResponse::getStatus)
+            .containsExactly(Status.OUT_OF_STOCK);
+    }
+
+    @Test
+    void namesOfDeletedItemsAreCompactedAway() throws InterruptedException {
+        Long kept = add("Rava Idli", 60.0, Category.VEG);
+        for (int i = 0; i < 20; i++) {
+            menuItemService.deleteMenuItem(add("Special " + UUID.randomUUID(), 99.0, Category.VEG));
+        }
+        menuSnapshots.awaitRefreshes();
+        int before = menuSnapshots.nameCount();
+
+        menuSnapshots.compactNames();
+
+        assertThat(menuSnapshots.nameCount()).isLessThanOrEqualTo(before - 20);
+        StatementCounter.reset();
+        assertThat(menuItemService.getMenuItems(restaurantId, null, null, PageRequest.of(0, 10)).getContent())
+            .extracting(MenuItemResponse::getId, MenuItemResponse::getName)
+            .containsExactly(tuple(kept, "Rava Idli"));
+        assertThat(StatementCounter.current()).isZero();
+    }
+
+    @Test
+    void failedReloadIsRetriedByMaintenance() throws InterruptedException {
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        MenuItemResponse item = new MenuItemResponse(1L, "Medu Vada", 45.0, Category.VEG, Status.AVAILABLE, 7L, "Standalone", 0L);
+        MenuItemRepository repository = (MenuItemRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {MenuItemRepository.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("streamByRestaurantId")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalStateException("primary is unavailable");
+                }
+                return Stream.of(item);
+            });
+        MenuSnapshots snapshots = new MenuSnapshots(repository, new NoOpTransactionManager(), true, 100);
+        try {
+            snapshots.refresh(7L);
+            snapshots.awaitRefreshes();
+            assertThat(snapshots.findPage(7L, null, null, PageRequest.of(0, 10))).isEmpty();
+
+            snapshots.maintain();
+            snapshots.awaitRefreshes();
+            assertThat(snapshots.findPage(7L, null, null, PageRequest.of(0, 10))).get()
+                .extracting(Page::getContent)
+                .isEqualTo(List.of(item));
+        } finally {
+            snapshots.shutdown();
+        }
+    }
+
+    private Long add(String name, double price, Category category) {
+        return menuItemService.addMenuItem(restaurantId, new CreateMenuItemRequest(name, price, category)).getId();
+    }
+
+    private Page<MenuItemResponse> query(Category category, Status status, PageRequest page) {
+        if (category != null && status != null) {
+            return menuItemRepository.findByRestaurantIdAndCategoryAndStatus(restaurantId, category, status, page);
+        } else if (category != null) {
+            return menuItemRepository.findByRestaurantIdAndCategory(restaurantId, category, page);
+        } else if (status != null) {
+            return menuItemRepository.findByRestaurantIdAndStatus(restaurantId, status, page);
+        }
+        return menuItemRepository.findByRestaurantId(restaurantId, page);
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}